@@ -0,0 +1,101 @@
+package ram.ka.ru;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import ram.ka.ru.codec.BatchCodec;
+import ram.ka.ru.codec.Codec;
+import ram.ka.ru.codec.ReadPattern;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserGenerator;
+import ram.ka.ru.models.UserPOJO;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+// Проверка корректности перед замером: каждый путь кодека должен вернуть то же сообщение,
+// что было на входе. Иначе замер мерил бы исключения или пустую работу - прогон прерывается.
+final class CodecVerifier {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    // Сгенерированная выборка к фиксированному User: пустые роли, не-ASCII имена, нулевой и отрицательный баланс
+    static final long SAMPLE_SEED = 7;
+    static final int SAMPLE_SIZE = 200;
+
+    // Форматы, чьи байты должны совпадать с XmlMapper (совместимость с "xml" для партнеров)
+    static final Set<String> XML_MAPPER_COMPATIBLE = Set.of("xml-bound", "xml-stax");
+    static final ObjectWriter XML_MAPPER = new XmlMapper().writerFor(User.class);
+
+    private CodecVerifier() {
+    }
+
+    static List<User> sample() {
+        return UserGenerator.corpus(SAMPLE_SEED, SAMPLE_SIZE, UserGenerator.DEFAULT_MIX);
+    }
+
+    // user и выборка sample()
+    static <T> void verifyWithSample(Codec<T> codec, User user, List<User> sample) throws IOException {
+        verify(codec, user);
+        for (User u : sample) {
+            verify(codec, u);
+        }
+    }
+
+    static <T> void verify(Codec<T> codec, User user) throws IOException {
+        T message = codec.fromModel(user);
+
+        check(codec, "roundtrip", message, codec.roundtrip(message));
+        byte[] data = codec.encode(message);
+        check(codec, "decode", message, codec.decode(data));
+        if (XML_MAPPER_COMPATIBLE.contains(codec.name()) && !Arrays.equals(XML_MAPPER.writeValueAsBytes(user), data)) {
+            throw new IllegalStateException(codec.name() + ": encoded bytes differ from XmlMapper for " + user + ": "
+                    + new String(data, StandardCharsets.UTF_8));
+        }
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(BUFFER_SIZE), ByteBuffer.allocateDirect(BUFFER_SIZE)}) {
+            codec.encodeTo(message, buffer);
+            buffer.flip();
+            check(codec, buffer.isDirect() ? "decodeFrom(direct)" : "decodeFrom(heap)", message, codec.decodeFrom(buffer));
+        }
+
+        Object id = codec.read(data, ReadPattern.ONE_FIELD);
+        if (!Objects.equals(user.id, id)) {
+            throw new IllegalStateException(codec.name() + ": read one-field returned " + id + ", expected " + user.id);
+        }
+        Object idActive = codec.read(data, ReadPattern.ID_ACTIVE);
+        if (!Objects.equals(ReadPattern.idActive(user.id, user.active), idActive)) {
+            throw new IllegalStateException(codec.name() + ": read id-active returned " + idActive + " for " + user);
+        }
+        UserPOJO copy = (UserPOJO) codec.read(data, ReadPattern.COPY);
+        if (!matches(user, copy)) {
+            throw new IllegalStateException(codec.name() + ": read copy does not match input " + user);
+        }
+    }
+
+    static <T> void verify(BatchCodec<T> codec, List<User> users) throws IOException {
+        T batch = codec.fromModel(users);
+        T decoded = codec.roundtrip(batch);
+        if (codec.size(decoded) != users.size()) {
+            throw new IllegalStateException(codec.name() + ": batch of " + users.size() + " decoded as " + codec.size(decoded));
+        }
+        if (!batch.equals(decoded)) {
+            throw new IllegalStateException(codec.name() + ": batch of " + users.size() + " does not match input");
+        }
+    }
+
+    private static <T> void check(Codec<T> codec, String path, T expected, T actual) {
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException(codec.name() + ": " + path + " returned " + actual + ", expected " + expected);
+        }
+    }
+
+    private static boolean matches(User u, UserPOJO p) {
+        return Objects.equals(u.id, p.id) && Objects.equals(u.name, p.name) && Objects.equals(u.email, p.email)
+                && u.age == p.age && u.active == p.active && Arrays.equals(u.roles, p.roles)
+                && Double.compare(u.balance, p.balance) == 0;
+    }
+}
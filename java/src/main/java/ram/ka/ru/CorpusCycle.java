@@ -0,0 +1,23 @@
+package ram.ka.ru;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Циклический обход корпуса заранее подготовленных сообщений (--corpus). У каждого потока свой курсор
+// со случайной начальной позицией, чтобы потоки не шли по одним и тем же кэш-линиям синхронно.
+final class CorpusCycle<T> {
+
+    private final T[] items;
+    private final ThreadLocal<int[]> cursor;
+
+    CorpusCycle(T[] items) {
+        this.items = items;
+        this.cursor = ThreadLocal.withInitial(() -> new int[]{ThreadLocalRandom.current().nextInt(items.length)});
+    }
+
+    T next() {
+        int[] c = cursor.get();
+        T item = items[c[0]];
+        c[0] = c[0] + 1 == items.length ? 0 : c[0] + 1;
+        return item;
+    }
+}
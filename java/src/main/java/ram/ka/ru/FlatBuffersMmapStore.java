@@ -0,0 +1,182 @@
+package ram.ka.ru;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.StringVector;
+import ram.ka.ru.codec.FlatBuffersCodec;
+import ram.ka.ru.codec.ReadPattern;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Хранилище профилей для режима --flatbuffers-mmap: size-prefixed User подряд в файле данных
+// и индекс смещений (long на запись) в отдельном файле. Оба файла отображаются в память,
+// чтение идет через getRootAsUser на срезе MappedByteBuffer без копирования и разбора.
+final class FlatBuffersMmapStore {
+
+    static final int WRITE_BUFFER = 1024 * 1024;
+    static final int SIZE_PREFIX = Integer.BYTES;
+
+    // Переиспользуемые объекты чтения потока
+    static final class Reader {
+        final ram.ka.ru.models.flatbuffers.User table = new ram.ka.ru.models.flatbuffers.User();
+        final StringVector roles = new StringVector();
+        long position;
+    }
+
+    private final Path dataFile;
+    private final Path indexFile;
+    private MappedByteBuffer data;
+    private LongBuffer offsets;
+    private int count;
+    private final ThreadLocal<Reader> readers = ThreadLocal.withInitial(this::newReader);
+
+    FlatBuffersMmapStore(Path dataFile, Path indexFile) {
+        this.dataFile = dataFile;
+        this.indexFile = indexFile;
+    }
+
+    // Пишет записи через один builder (clear между записями) и буфер, сбрасываемый в канал
+    void write(List<User> users) throws IOException {
+        FlatBufferBuilder builder = new FlatBufferBuilder(1024);
+        int[] roleOffsets = new int[8];
+        ByteBuffer out = ByteBuffer.allocateDirect(WRITE_BUFFER);
+        ByteBuffer index = ByteBuffer.allocateDirect(users.size() * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long position = 0;
+        try (FileChannel channel = open(dataFile)) {
+            for (User user : users) {
+                builder.clear();
+                if (roleOffsets.length < user.roles.length) {
+                    roleOffsets = new int[user.roles.length];
+                }
+                int table = Users.writeFlatUser(builder, user, roleOffsets, FlatBufferBuilder::createString, FlatBufferBuilder::createString);
+                ram.ka.ru.models.flatbuffers.User.finishSizePrefixedUserBuffer(builder, table);
+                ByteBuffer record = builder.dataBuffer();
+                if (out.remaining() < record.remaining()) {
+                    drain(channel, out);
+                    if (out.remaining() < record.remaining()) {
+                        throw new IOException("record of " + record.remaining() + " bytes does not fit write buffer");
+                    }
+                }
+                index.putLong(position);
+                position += record.remaining();
+                out.put(record);
+            }
+            drain(channel, out);
+        }
+        if (position > Integer.MAX_VALUE) {
+            // Одно отображение MappedByteBuffer ограничено 2 ГБ
+            throw new IllegalArgumentException("store of " + position + " bytes exceeds a single 2 GB mapping, use fewer --records");
+        }
+        index.flip();
+        try (FileChannel channel = open(indexFile)) {
+            while (index.hasRemaining()) {
+                channel.write(index);
+            }
+        }
+    }
+
+    // Отображает оба файла и заранее подгружает страницы: замер - доступ к памяти, а не page fault
+    void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            index.load();
+            offsets = index.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        }
+        data.load();
+        data.order(ByteOrder.LITTLE_ENDIAN);
+        count = offsets.limit();
+    }
+
+    // Сверка каждой записи с исходным пользователем перед замером
+    void verify(List<User> users) {
+        if (count != users.size()) {
+            throw new IllegalStateException("store holds " + count + " records, written " + users.size());
+        }
+        Reader reader = readers.get();
+        for (int i = 0; i < count; i++) {
+            User read = Users.fromFlatBuffer(lookup(reader, offsets.get(i)), reader.roles, new User());
+            if (!read.equals(users.get(i))) {
+                throw new IllegalStateException("record " + i + " differs after mmap roundtrip");
+            }
+        }
+    }
+
+    // Случайная запись по индексу
+    Runnable randomLookup(ReadPattern pattern) {
+        return () -> {
+            Reader reader = readers.get();
+            long offset = offsets.get(ThreadLocalRandom.current().nextInt(count));
+            FlatBuffersCodec.read(lookup(reader, offset), reader.roles, pattern);
+        };
+    }
+
+    // Как в CorpusCycle: каждый поток начинает проход со случайной записи, иначе все потоки
+    // шли бы по одним и тем же страницам и строкам кэша одновременно
+    private Reader newReader() {
+        Reader reader = new Reader();
+        if (count > 0) {
+            reader.position = offsets.get(ThreadLocalRandom.current().nextInt(count));
+        }
+        return reader;
+    }
+
+    // Последовательный проход по префиксам размера без индекса, у каждого потока свой курсор
+    Runnable sequentialScan(ReadPattern pattern) {
+        return () -> {
+            Reader reader = readers.get();
+            if (reader.position >= data.limit()) {
+                reader.position = 0;
+            }
+            ram.ka.ru.models.flatbuffers.User table = lookup(reader, reader.position);
+            reader.position += SIZE_PREFIX + data.getInt((int) reader.position);
+            FlatBuffersCodec.read(table, reader.roles, pattern);
+        };
+    }
+
+    // Срез записи без копирования; префикс размера - little endian, как и сам FlatBuffers
+    private ram.ka.ru.models.flatbuffers.User lookup(Reader reader, long offset) {
+        int start = (int) offset;
+        int size = data.getInt(start);
+        ByteBuffer record = data.slice(start + SIZE_PREFIX, size);
+        return ram.ka.ru.models.flatbuffers.User.getRootAsUser(record, reader.table);
+    }
+
+    int count() {
+        return count;
+    }
+
+    long sizeBytes() {
+        return data.limit();
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(dataFile);
+        Files.deleteIfExists(indexFile);
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,129 @@
+package ram.ka.ru;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import ram.ka.ru.report.FrameStats;
+import ram.ka.ru.report.ResourceStats;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// JFR-запись вокруг прогона одного формата (режим --jfr).
+// События фильтруются по имени потока, чтобы не учитывать аллокации самого JFR и main.
+class JfrProfiler {
+
+    static final int TOP_FRAMES = 10;
+
+    private final String threadPrefix;
+    private final RecordingStream stream = new RecordingStream();
+
+    private final Map<String, LongAdder> allocationFrames = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> cpuFrames = new ConcurrentHashMap<>();
+    // Вес первого сэмпла потока включает аллокации до начала записи - его пропускаем
+    private final Set<Long> sampledThreads = ConcurrentHashMap.newKeySet();
+
+    // Оценка числа объектов: события TLAB выбираются пропорционально размеру объекта,
+    // поэтому среднее 1/size по ним дает число объектов на байт
+    private final LongAdder tlabSamples = new LongAdder();
+    private final DoubleAdder inverseSizeSum = new DoubleAdder();
+    private final LongAdder outsideTlabCount = new LongAdder();
+    private final LongAdder outsideTlabBytes = new LongAdder();
+
+    private final LongAdder gcCount = new LongAdder();
+    private final LongAdder gcPauseTotalNs = new LongAdder();
+    private volatile long gcPauseMaxNs;
+
+    JfrProfiler(String threadPrefix) {
+        this.threadPrefix = threadPrefix;
+
+        stream.enable("jdk.ObjectAllocationSample").with("throttle", "1000/s").withStackTrace();
+        stream.enable("jdk.ObjectAllocationInNewTLAB").withoutStackTrace();
+        stream.enable("jdk.ObjectAllocationOutsideTLAB").withoutStackTrace();
+        stream.enable("jdk.GarbageCollection");
+        stream.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10)).withStackTrace();
+
+        stream.onEvent("jdk.ObjectAllocationSample", e -> {
+            if (isWorker(e.getThread()) && !sampledThreads.add(e.getThread().getJavaThreadId())) {
+                addFrame(allocationFrames, e.getStackTrace(), e.getLong("weight"));
+            }
+        });
+        stream.onEvent("jdk.ObjectAllocationInNewTLAB", e -> {
+            if (isWorker(e.getThread())) {
+                tlabSamples.increment();
+                inverseSizeSum.add(1.0 / Math.max(1, e.getLong("allocationSize")));
+            }
+        });
+        stream.onEvent("jdk.ObjectAllocationOutsideTLAB", e -> {
+            if (isWorker(e.getThread())) {
+                outsideTlabCount.increment();
+                outsideTlabBytes.add(e.getLong("allocationSize"));
+            }
+        });
+        stream.onEvent("jdk.GarbageCollection", e -> {
+            long pauseNs = e.getDuration("sumOfPauses").toNanos();
+            gcCount.increment();
+            gcPauseTotalNs.add(pauseNs);
+            gcPauseMaxNs = Math.max(gcPauseMaxNs, e.getDuration("longestPause").toNanos());
+        });
+        stream.onEvent("jdk.ExecutionSample", e -> {
+            if (isWorker(e.getThread("sampledThread"))) {
+                addFrame(cpuFrames, e.getStackTrace(), 1);
+            }
+        });
+    }
+
+    void start() {
+        stream.startAsync();
+    }
+
+    // allocatedBytes - точное число байт из ThreadMXBean, по нему масштабируется оценка числа объектов;
+    // для виртуальных потоков оно неизвестно (WorkerStats.UNSUPPORTED), и число аллокаций не пишется
+    void stop(ResourceStats resources, long allocatedBytes) {
+        stream.stop();
+        stream.close();
+
+        if (allocatedBytes != WorkerStats.UNSUPPORTED) {
+            long samples = tlabSamples.sum();
+            long tlabBytes = Math.max(0, allocatedBytes - outsideTlabBytes.sum());
+            long tlabObjects = samples == 0 ? 0 : Math.round(tlabBytes * inverseSizeSum.sum() / samples);
+            resources.memory_allocations_count = outsideTlabCount.sum() + tlabObjects;
+        }
+
+        resources.gc_count = gcCount.sum();
+        resources.gc_pause_total_ns = gcPauseTotalNs.sum();
+        resources.gc_pause_max_ns = gcPauseMaxNs;
+        resources.top_allocation_frames = top(allocationFrames);
+        resources.top_cpu_frames = top(cpuFrames);
+    }
+
+    private boolean isWorker(RecordedThread thread) {
+        return thread != null && thread.getJavaName() != null && thread.getJavaName().startsWith(threadPrefix);
+    }
+
+    private static void addFrame(Map<String, LongAdder> frames, RecordedStackTrace stackTrace, long weight) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        frames.computeIfAbsent(describe(stackTrace.getFrames().get(0)), k -> new LongAdder()).add(weight);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static List<FrameStats> top(Map<String, LongAdder> frames) {
+        return frames.entrySet().stream()
+                .map(e -> new FrameStats(e.getKey(), e.getValue().sum()))
+                .sorted(Comparator.comparingLong((FrameStats f) -> f.weight).reversed())
+                .limit(TOP_FRAMES)
+                .toList();
+    }
+}
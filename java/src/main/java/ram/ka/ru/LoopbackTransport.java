@@ -0,0 +1,396 @@
+package ram.ka.ru;
+
+import ram.ka.ru.codec.Codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Режим --loopback: echo-сервер в том же процессе на localhost. Клиент кодирует сообщение в кадр
+// (4 байта длины big endian + тело), сервер декодирует его и кодирует ответ тем же форматом, клиент декодирует ответ.
+// В замер попадают копирования буферов, кадрирование и системные вызовы, а не только CPU кодека.
+// Каждый рабочий поток харнесса держит свое блокирующее соединение: число соединений = число потоков.
+final class LoopbackTransport<T> implements AutoCloseable {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int HEADER = 4;
+    static final int BACKLOG = 4096;
+    // Ответ, не пришедший за это время, считается потерянным: все соединения закрываются и замер падает,
+    // а не висит на блокирующем чтении. Совпадает с верхней границей гистограммы задержек
+    static final long RESPONSE_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(10);
+    static final long WATCHDOG_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    enum Server {
+        // Один поток с Selector на все соединения, неблокирующие каналы
+        SELECTOR("selector"),
+        // Блокирующие каналы, виртуальный поток на соединение
+        BLOCKING("blocking");
+
+        final String label;
+
+        Server(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Codec<T> codec;
+    private final Server server;
+    private final ServerSocketChannel acceptor;
+    private final Selector selector;
+    private final Thread serverThread;
+    private final Thread watchdog;
+    private final Queue<SocketChannel> serverConnections = new ConcurrentLinkedQueue<>();
+    private final Queue<Client> clients = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    LoopbackTransport(Codec<T> codec, Server server) throws IOException {
+        this.codec = codec;
+        this.server = server;
+        acceptor = ServerSocketChannel.open();
+        acceptor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        if (server == Server.SELECTOR) {
+            selector = Selector.open();
+            acceptor.configureBlocking(false);
+            acceptor.register(selector, SelectionKey.OP_ACCEPT);
+            serverThread = Thread.ofPlatform().name("loopback-selector").daemon().start(this::selectLoop);
+        } else {
+            selector = null;
+            serverThread = Thread.ofVirtual().name("loopback-acceptor").start(this::acceptLoop);
+        }
+        watchdog = Thread.ofPlatform().name("loopback-watchdog").daemon().start(this::watchResponses);
+    }
+
+    // Один обмен через сервер до замера: ответ должен совпасть с отправленным сообщением
+    void verify(T message) throws IOException {
+        try (Client client = connect()) {
+            T response = client.roundtrip(message);
+            if (!message.equals(response)) {
+                throw new IllegalStateException(codec.name() + ": loopback " + server.label + " returned " + response
+                        + ", expected " + message);
+            }
+        }
+    }
+
+    // Задача для одного замера. Соединения открываются лениво при первом обмене в потоке (на прогреве),
+    // соединения предыдущего замера (например, предыдущего шага --sweep) к этому моменту уже не нужны
+    Runnable task(T message) {
+        closeClients();
+        ThreadLocal<Client> local = ThreadLocal.withInitial(() -> {
+            try {
+                return connect();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return () -> {
+            try {
+                local.get().roundtrip(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // InterruptedException не пробрасывается (иначе -Xlint:try в try-with-resources), как в WorkerPool
+    @Override
+    public void close() throws IOException {
+        closeClients();
+        closed = true;
+        acceptor.close();
+        if (selector != null) {
+            selector.wakeup();
+        }
+        try {
+            serverThread.join();
+            watchdog.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeServerConnections();
+    }
+
+    private Client connect() throws IOException {
+        SocketChannel channel = SocketChannel.open(acceptor.getLocalAddress());
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Client client = new Client(channel);
+        clients.add(client);
+        return client;
+    }
+
+    private void closeServerConnections() {
+        for (SocketChannel channel; (channel = serverConnections.poll()) != null; ) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // соединение уже разорвано - закрывать нечего
+            }
+        }
+    }
+
+    // Ошибка сервера или потерянный ответ: закрываем обе стороны, чтобы заблокированные в чтении
+    // клиенты получили исключение с причиной, а не ждали ответа вечно
+    private void fail(Throwable t) {
+        if (closed) {
+            return;
+        }
+        if (failure == null) {
+            failure = t;
+        }
+        closeServerConnections();
+        closeClients();
+    }
+
+    private void watchResponses() {
+        while (!closed) {
+            LockSupport.parkNanos(WATCHDOG_PERIOD_NS);
+            long now = System.nanoTime();
+            for (Client client : clients) {
+                long sent = client.sentAt;
+                if (sent != 0 && now - sent > RESPONSE_TIMEOUT_NS) {
+                    fail(new SocketTimeoutException(codec.name() + ": no loopback " + server.label + " response within "
+                            + TimeUnit.NANOSECONDS.toMillis(RESPONSE_TIMEOUT_NS) + " ms"));
+                    break;
+                }
+            }
+        }
+    }
+
+    private void closeClients() {
+        for (Client client; (client = clients.poll()) != null; ) {
+            try {
+                client.close();
+            } catch (IOException ignored) {
+                // соединение уже разорвано - закрывать нечего
+            }
+        }
+    }
+
+    // Сервер на Selector: входной и выходной буфер на соединение, оба всегда в режиме записи (put)
+    private void selectLoop() {
+        try (selector) {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            serve(key);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // Ошибка кодека (BufferOverflowException, битый кадр) рвет только это соединение
+                        if (!closed && failure == null) {
+                            failure = e;
+                        }
+                        key.channel().close();
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        } finally {
+            // Без потока селектора соединения никто не обслужит
+            closeServerConnections();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = acceptor.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection());
+            serverConnections.add(channel);
+        }
+    }
+
+    private void serve(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+        if (key.isReadable() && channel.read(connection.in) < 0) {
+            channel.close();
+            return;
+        }
+        ByteBuffer in = connection.in.flip();
+        ByteBuffer out = connection.out;
+        flush(channel, out);
+        // Пока предыдущий ответ не ушел целиком, новые кадры не разбираются: размер ответа заранее неизвестен
+        while (out.position() == 0 && frameReady(in)) {
+            int length = in.getInt();
+            int limit = in.limit();
+            in.limit(in.position() + length);
+            T message = codec.decodeFrom(in);
+            in.limit(limit);
+            encodeFrame(message, out);
+            flush(channel, out);
+        }
+        in.compact();
+        key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private static void flush(SocketChannel channel, ByteBuffer out) throws IOException {
+        if (out.position() > 0) {
+            out.flip();
+            channel.write(out);
+            out.compact();
+        }
+    }
+
+    private static boolean frameReady(ByteBuffer in) throws IOException {
+        if (in.remaining() < HEADER) {
+            return false;
+        }
+        int length = in.getInt(in.position());
+        checkLength(length);
+        return in.remaining() >= HEADER + length;
+    }
+
+    // Блокирующий сервер: accept и каждое соединение на своем виртуальном потоке
+    private void acceptLoop() {
+        try {
+            while (!closed) {
+                SocketChannel channel = acceptor.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                serverConnections.add(channel);
+                Thread.ofVirtual().name("loopback-connection").start(() -> serveBlocking(channel));
+            }
+        } catch (IOException | RuntimeException e) {
+            // AsynchronousCloseException при закрытии - штатное завершение
+            fail(e);
+        }
+    }
+
+    private void serveBlocking(SocketChannel channel) {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try {
+            while (readFrame(channel, in)) {
+                T message = codec.decodeFrom(in);
+                out.clear();
+                encodeFrame(message, out);
+                writeFully(channel, out.flip());
+            }
+        } catch (IOException | RuntimeException e) {
+            // Причина записывается до закрытия канала: клиент увидит ее вместе с EOF
+            if (!closed && failure == null) {
+                failure = e;
+            }
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // соединение уже разорвано - закрывать нечего
+            }
+        }
+    }
+
+    // Длина пишется на место заголовка после кодирования, тело кодируется сразу в буфер без промежуточного массива
+    private void encodeFrame(T message, ByteBuffer out) throws IOException {
+        int start = out.position();
+        out.position(start + HEADER);
+        codec.encodeTo(message, out);
+        out.putInt(start, out.position() - start - HEADER);
+    }
+
+    // Читает один кадр целиком: после возврата тело лежит между position и limit.
+    // false - соединение закрыто между кадрами
+    private static boolean readFrame(SocketChannel channel, ByteBuffer in) throws IOException {
+        in.clear().limit(HEADER);
+        if (!readFully(channel, in, true)) {
+            return false;
+        }
+        int length = in.getInt(0);
+        checkLength(length);
+        in.limit(HEADER + length);
+        readFully(channel, in, false);
+        in.position(HEADER);
+        return true;
+    }
+
+    private static boolean readFully(SocketChannel channel, ByteBuffer in, boolean frameStart) throws IOException {
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0) {
+                if (frameStart && in.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("connection closed in the middle of a frame");
+            }
+        }
+        return true;
+    }
+
+    private static void writeFully(SocketChannel channel, ByteBuffer out) throws IOException {
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    private static void checkLength(int length) throws IOException {
+        if (length < 0 || length > BUFFER_SIZE - HEADER) {
+            throw new IOException("frame of " + length + " bytes does not fit into " + BUFFER_SIZE + " byte buffer");
+        }
+    }
+
+    private static final class Connection {
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    // Клиент одного рабочего потока: строгий запрос-ответ, один кадр в полете
+    private final class Client implements AutoCloseable {
+        final SocketChannel channel;
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        // Время отправки запроса, на который еще нет ответа; 0 - запроса в полете нет
+        volatile long sentAt;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        T roundtrip(T message) throws IOException {
+            out.clear();
+            encodeFrame(message, out);
+            sentAt = System.nanoTime();
+            try {
+                writeFully(channel, out.flip());
+                if (!readFrame(channel, in)) {
+                    throw new EOFException("server closed connection");
+                }
+            } catch (IOException e) {
+                // Причина на стороне сервера или watchdog важнее, чем EOF/закрытый канал у клиента
+                if (failure != null) {
+                    e.addSuppressed(failure);
+                }
+                throw e;
+            } finally {
+                sentAt = 0;
+            }
+            return codec.decodeFrom(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package ram.ka.ru;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserProtos;
+import ram.ka.ru.models.Users;
+import ram.ka.ru.report.BenchmarkResult;
+import ram.ka.ru.report.FileStreamStats;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Режим --protobuf-file: N length-delimited UserProto пишутся в файл и читаются обратно, как при обмене
+// данными между batch-задачами. Сравниваются способ ввода-вывода, размер буфера и heap/direct буфер.
+// Файл после записи лежит в page cache, поэтому чтение меряет разбор и копирование, а не диск.
+final class ProtobufFileStream {
+
+    static final String FORMAT = "protobuf";
+    static final List<Integer> BUFFER_SIZES = List.of(4 * 1024, 64 * 1024, 1024 * 1024);
+
+    // varint32 занимает не больше 5 байт
+    static final int MAX_VARINT32 = 5;
+
+    enum Io {
+        STREAM("stream", false),
+        CODED_HEAP("coded", false),
+        CODED_DIRECT("coded", true);
+
+        final String label;
+        final boolean direct;
+
+        Io(String label, boolean direct) {
+            this.label = label;
+            this.direct = direct;
+        }
+    }
+
+    private final List<UserProtos.UserProto> records;
+    private final Path file;
+
+    ProtobufFileStream(List<User> users, Path file) {
+        this.records = new ArrayList<>(users.size());
+        for (User user : users) {
+            records.add(Users.toProto(user));
+        }
+        this.file = file;
+    }
+
+    // Для каждого способа и буфера: прогрев (запись + чтение со сверкой всех записей), затем замер записи и чтения
+    List<BenchmarkResult> run(List<Integer> bufferSizes) throws IOException {
+        List<BenchmarkResult> results = new ArrayList<>();
+        try {
+            for (Io io : Io.values()) {
+                for (int bufferSize : bufferSizes) {
+                    write(io, bufferSize);
+                    read(io, bufferSize, true);
+
+                    WorkerStats stats = new WorkerStats(SerializationBenchmark.HISTOGRAM_MAX_NS, SerializationBenchmark.HISTOGRAM_DIGITS);
+                    stats.begin();
+                    long start = System.nanoTime();
+                    write(io, bufferSize);
+                    long elapsedNs = System.nanoTime() - start;
+                    stats.end();
+                    results.add(result("file-write", io, bufferSize, elapsedNs, stats));
+
+                    stats = new WorkerStats(SerializationBenchmark.HISTOGRAM_MAX_NS, SerializationBenchmark.HISTOGRAM_DIGITS);
+                    stats.begin();
+                    start = System.nanoTime();
+                    read(io, bufferSize, false);
+                    elapsedNs = System.nanoTime() - start;
+                    stats.end();
+                    results.add(result("file-read", io, bufferSize, elapsedNs, stats));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        return results;
+    }
+
+    private BenchmarkResult result(String operation, Io io, int bufferSize, long elapsedNs, WorkerStats stats) throws IOException {
+        long fileBytes = Files.size(file);
+        double seconds = SerializationBenchmark.toSeconds(elapsedNs);
+
+        BenchmarkResult r = new BenchmarkResult();
+        r.format = FORMAT;
+        r.operation = operation;
+        r.threads = 1;
+        r.thread_type = SerializationBenchmark.PLATFORM;
+        r.encoded_size_bytes = (int) (fileBytes / records.size());
+        r.performance.rps = records.size() / seconds;
+        r.performance.operations = records.size();
+        // Меряется только время всего файла; нулевые перцентили были бы неотличимы от настоящих
+        r.performance.latency_ns = null;
+        r.resources.memory_allocated_bytes = stats.allocatedBytes;
+        r.resources.memory_allocated_bytes_per_op = stats.allocatedBytes / records.size();
+        r.resources.cpu_ns_per_op = stats.cpuTimeNs / records.size();
+        r.file_stream = new FileStreamStats();
+        r.file_stream.io = io.label;
+        r.file_stream.buffer_type = io.direct ? "direct" : "heap";
+        r.file_stream.buffer_bytes = bufferSize;
+        r.file_stream.records = records.size();
+        r.file_stream.file_bytes = fileBytes;
+        r.file_stream.mb_per_second = fileBytes / 1e6 / seconds;
+        return r;
+    }
+
+    void write(Io io, int bufferSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (io == Io.STREAM) {
+                try (OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), bufferSize)) {
+                    for (UserProtos.UserProto record : records) {
+                        record.writeDelimitedTo(out);
+                    }
+                }
+            } else {
+                writeCoded(channel, allocate(io, bufferSize));
+            }
+        }
+    }
+
+    // То же, что writeDelimitedTo, но без CodedOutputStream на каждую запись: сообщения пишутся прямо
+    // в буфер, заполненный буфер сбрасывается в канал. Запись должна целиком помещаться в буфер.
+    private void writeCoded(FileChannel channel, ByteBuffer buffer) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        for (UserProtos.UserProto record : records) {
+            int size = record.getSerializedSize();
+            int required = CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+            if (out.spaceLeft() < required) {
+                if (required > buffer.capacity()) {
+                    throw new IOException("record of " + required + " bytes does not fit buffer of " + buffer.capacity());
+                }
+                out.flush();
+                drain(channel, buffer);
+                out = CodedOutputStream.newInstance(buffer);
+            }
+            out.writeUInt32NoTag(size);
+            record.writeTo(out);
+        }
+        out.flush();
+        drain(channel, buffer);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // verify - сверка каждой прочитанной записи с исходной (только на прогреве)
+    void read(Io io, int bufferSize, boolean verify) throws IOException {
+        long count;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (io == Io.STREAM) {
+                count = 0;
+                try (InputStream in = new BufferedInputStream(Channels.newInputStream(channel), bufferSize)) {
+                    UserProtos.UserProto record;
+                    while ((record = UserProtos.UserProto.parseDelimitedFrom(in)) != null) {
+                        check(record, count++, verify);
+                    }
+                }
+            } else {
+                count = readCoded(channel, allocate(io, bufferSize), verify);
+            }
+        }
+        if (count != records.size()) {
+            throw new IllegalStateException(io + ": read " + count + " records, written " + records.size());
+        }
+    }
+
+    // Разбор целых записей прямо из буфера; хвост неполной записи сдвигается в начало буфера и дочитывается
+    private long readCoded(FileChannel channel, ByteBuffer buffer, boolean verify) throws IOException {
+        long count = 0;
+        buffer.limit(0);
+        while (true) {
+            CodedInputStream in = CodedInputStream.newInstance(buffer);
+            int available = buffer.remaining();
+            int consumed = 0;
+            while (hasVarint(buffer, buffer.position() + consumed, available - consumed)) {
+                int size = in.readRawVarint32();
+                int header = in.getTotalBytesRead() - consumed;
+                if (available - consumed - header < size) {
+                    break;
+                }
+                int limit = in.pushLimit(size);
+                check(UserProtos.UserProto.parser().parseFrom(in), count++, verify);
+                in.popLimit(limit);
+                consumed = in.getTotalBytesRead();
+            }
+            buffer.position(buffer.position() + consumed);
+            if (consumed == 0 && buffer.remaining() == buffer.capacity()) {
+                throw new IOException("record does not fit buffer of " + buffer.capacity());
+            }
+            buffer.compact();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                if (buffer.hasRemaining()) {
+                    throw new EOFException("truncated record at the end of " + file);
+                }
+                return count;
+            }
+        }
+    }
+
+    // Есть ли в [from, from + available) полный varint (старший бит последнего байта сброшен)
+    private static boolean hasVarint(ByteBuffer buffer, int from, int available) {
+        for (int i = 0; i < Math.min(available, MAX_VARINT32); i++) {
+            if (buffer.get(from + i) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void check(UserProtos.UserProto record, long index, boolean verify) {
+        if (verify && !records.get((int) index).equals(record)) {
+            throw new IllegalStateException("record " + index + " differs after file roundtrip");
+        }
+    }
+
+    private static ByteBuffer allocate(Io io, int size) {
+        return io.direct ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+}
@@ -1,218 +1,681 @@
 package ram.ka.ru;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
-import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
-import com.google.flatbuffers.FlatBufferBuilder;
-import lombok.Getter;
-import lombok.Setter;
 import lombok.SneakyThrows;
-import ram.ka.ru.models.UserProtos;
-
-import java.io.Serializable;
+import org.HdrHistogram.Histogram;
+import ram.ka.ru.codec.BatchCodec;
+import ram.ka.ru.codec.Codec;
+import ram.ka.ru.codec.Compressor;
+import ram.ka.ru.codec.ReadPattern;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserGenerator;
+import ram.ka.ru.models.Users;
+import ram.ka.ru.report.BenchmarkReport;
+import ram.ka.ru.report.BenchmarkResult;
+import ram.ka.ru.report.FileStreamStats;
+import ram.ka.ru.report.LatencyStats;
+import ram.ka.ru.report.TransportStats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.management.ManagementFactory;
-import java.lang.management.MemoryMXBean;
-import java.lang.management.MemoryUsage;
-import java.time.Instant;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
 import java.util.concurrent.*;
-import java.util.stream.IntStream;
-
-// === Модели данных ===
-
-@Setter
-@Getter
-class User {
-    String id = "123e4567-e89b-12d3-a456-426614174000";
-    String name = "John Doe";
-    String email = "john.doe@example.com";
-    int age = 30;
-    boolean active = true;
-    String[] roles = new String[]{"admin", "user", "editor"};
-    double balance = 1024.50;
-}
-
-// === Структуры отчета (точно как в Go) ===
-
-@Setter
-@Getter
-class BenchmarkMeta {
-    String language = "java";
-    String version = "21";
-    String timestamp = Instant.now().toString();
-    int threads = 1;
-    int total_iterations = 10000;
-}
-
-@Setter
-@Getter
-class LatencyStats {
-    long mean, p50, p99;
-}
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
-@Setter
-@Getter
-class PerformanceStats {
-    @JsonProperty
-    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
-    double rps;
-    LatencyStats latency_ns = new LatencyStats();
-}
+// === Основной класс ===
 
-@Setter
-@Getter
-class ResourceStats {
-    long memory_allocated_bytes;
-    long memory_allocations_count;
-    long cpu_user_time_ms = 0;
-    long cpu_system_time_ms = 0;
-}
+// Измеряемая задача: формат и операция попадают в отчет как есть.
+// batchSize - пользователей в одной операции, compression == null - без стадии сжатия
+// Задача создается непосредственно перед замером, чтобы данные корпуса одного формата
+// не держались в памяти во время замера других
+record Workload(String format, String operation, int batchSize, int encodedSize, String compression, int compressedSize,
+                Supplier<Runnable> task) {
 
-@Setter
-@Getter
-class BenchmarkResult {
-    String format;
-    String operation = "roundtrip";
-    PerformanceStats performance = new PerformanceStats();
-    ResourceStats resources = new ResourceStats();
-}
+    Workload(String format, String operation, int encodedSize, Supplier<Runnable> task) {
+        this(format, operation, 1, encodedSize, null, 0, task);
+    }
 
-@Setter
-@Getter
-class BenchmarkReport {
-    BenchmarkMeta benchmark_meta = new BenchmarkMeta();
-    List<BenchmarkResult> results = new ArrayList<>();
+    Workload(String format, String operation, int encodedSize, String compression, int compressedSize, Supplier<Runnable> task) {
+        this(format, operation, 1, encodedSize, compression, compressedSize, task);
+    }
 }
 
-// === Основной класс ===
-
 public class SerializationBenchmark {
 
-    static final int THREAD_COUNT = 4;
-    static final int TOTAL_ITERATIONS = 10000;
+    static final int THREAD_COUNT = 4; // по умолчанию, меняется через --threads
+    static final int TOTAL_ITERATIONS = 10000; // по умолчанию, меняется через --iterations
+    static final int WARMUP_MS = 1000;
+    static final int CORPUS_SEED = 42;
+    // Сколько первых пользователей корпуса проверяется CodecVerifier перед замером
+    static final int CORPUS_VERIFY_SAMPLE = 1000;
+    static final int FILE_RECORDS = 200_000;
+    static final int LOOPBACK_CONNECTIONS = 64;
+    static final List<Integer> BATCH_SIZES = List.of(10, 100, 1_000, 10_000, 100_000);
+    // Верхняя граница гистограммы задержек (значения выше обрезаются), 3 значащие цифры
+    static final long HISTOGRAM_MAX_NS = TimeUnit.SECONDS.toNanos(10);
+    static final int HISTOGRAM_DIGITS = 3;
 
     static final ObjectMapper jsonMapper = new ObjectMapper();
-    static final XmlMapper xmlMapper = new XmlMapper();
-    static final ExecutorService executor = Executors.newFixedThreadPool(
-            THREAD_COUNT, Thread.ofVirtual().factory()
-    );
+    // Префикс имени рабочих потоков, по нему JfrProfiler отбирает события
+    static final String WORKER_PREFIX = "bench-worker-";
+
+    static final String PLATFORM = "platform";
+    static final String VIRTUAL = "virtual";
+    static final com.sun.management.OperatingSystemMXBean osBean =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    static BenchmarkOptions options = BenchmarkOptions.parse(new String[0]);
 
     @SneakyThrows
     public static void main(String[] args) throws Exception {
+        options = BenchmarkOptions.parse(args);
         BenchmarkReport report = new BenchmarkReport();
         User user = new User();
 
-        // Protobuf объект (создаем один раз)
-        var protoUser = UserProtos.UserProto.newBuilder()
-                .setId(user.id).setName(user.name).setEmail(user.email)
-                .setAge(user.age).setActive(user.active).setBalance(user.balance)
-                .addAllRoles(java.util.List.of(user.roles)).build();
+        // Отдельные режимы вместо замеров кодеков: файловый обмен Protobuf, mmap-хранилище FlatBuffers и обмен через localhost
+        if (options.flag("protobuf-file")) {
+            runProtobufFile(report);
+            System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            return;
+        }
+        if (options.flag("flatbuffers-mmap")) {
+            runFlatBuffersMmap(report);
+            System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            return;
+        }
+        if (options.flag("loopback")) {
+            runLoopback(report, user);
+            System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            return;
+        }
+
+        // --read=one-field,all-fields,copy (или all) добавляет к roundtrip замеры чтения по шаблонам
+        String read = options.string("read", "");
+        List<ReadPattern> patterns = read.isEmpty() ? List.of()
+                : read.equals("all") ? List.of(ReadPattern.values())
+                : Arrays.stream(read.split(",")).map(String::trim).map(ReadPattern::of).toList();
+        // --compress=lz4,zstd,snappy,gzip (или all) добавляет encode+compress и decompress+decode
+        String compress = options.string("compress", "");
+        List<Compressor> compressors = compress.isEmpty() ? List.of() : loadCompressors(compress.equals("all") ? "" : compress);
+        // --batch=10,100 (или all) добавляет batch-roundtrip пачек такого размера
+        String batch = options.string("batch", "");
+        List<Integer> batchSizes = batch.isEmpty() ? List.of()
+                : batch.equals("all") ? BATCH_SIZES
+                : Arrays.stream(batch.split(",")).map(String::trim).map(Integer::valueOf).toList();
+        // --corpus=N: roundtrip и read идут по кругу по N сгенерированным пользователям (--seed, --size-mix)
+        int corpusSize = options.intValue("corpus", 0);
+        List<User> corpus = corpusSize > 0 ? corpus(corpusSize, report) : null;
+
+        List<Workload> workloads = new ArrayList<>();
+        List<User> verifySample = CodecVerifier.sample();
+        for (Codec<?> codec : loadCodecs(options.string("formats", ""))) {
+            CodecVerifier.verifyWithSample(codec, user, verifySample);
+            int size = encodedSize(codec, user);
+            if (corpus == null) {
+                workloads.add(new Workload(codec.name(), "roundtrip", size, () -> roundtrip(codec, user)));
+                for (ReadPattern pattern : patterns) {
+                    workloads.add(new Workload(codec.name(), "read-" + pattern.label, size, () -> read(codec, user, pattern)));
+                }
+            } else {
+                List<User> users = corpus;
+                for (User u : users.subList(0, Math.min(CORPUS_VERIFY_SAMPLE, users.size()))) {
+                    CodecVerifier.verify(codec, u);
+                }
+                // Для корпуса - средний размер сообщения
+                int average = averageEncodedSize(codec, users);
+                workloads.add(new Workload(codec.name(), "roundtrip", average, () -> roundtrip(codec, users)));
+                for (ReadPattern pattern : patterns) {
+                    workloads.add(new Workload(codec.name(), "read-" + pattern.label, average, () -> read(codec, users, pattern)));
+                }
+            }
+            if (!compressors.isEmpty()) {
+                // Та же пара без сжатия - точка отсчета для стоимости компрессора
+                workloads.add(new Workload(codec.name(), "encode", size, () -> encode(codec, user, null)));
+                workloads.add(new Workload(codec.name(), "decode", size, () -> decode(codec, user, null)));
+            }
+            for (Compressor compressor : compressors) {
+                int compressed = compressedSize(codec, user, compressor);
+                workloads.add(new Workload(codec.name(), "encode-" + compressor.name(), size, compressor.name(), compressed,
+                        () -> encode(codec, user, compressor)));
+                workloads.add(new Workload(codec.name(), "decode-" + compressor.name(), size, compressor.name(), compressed,
+                        () -> decode(codec, user, compressor)));
+            }
+        }
+        for (BatchCodec<?> codec : batchSizes.isEmpty() ? List.<BatchCodec<?>>of() : loadBatchCodecs(options.string("formats", ""))) {
+            for (int size : batchSizes) {
+                List<User> users = Users.batch(size);
+                CodecVerifier.verify(codec, users);
+                int encoded = encodedSize(codec, users);
+                workloads.add(new Workload(codec.name(), "batch-roundtrip", size, encoded, null, 0,
+                        () -> roundtrip(codec, users)));
+                // Степень сжатия одного User (~100-250 байт) меньше 1 из-за заголовков кадра компрессора,
+                // поэтому с --compress та же пара encode/decode замеряется и на пачках
+                if (!compressors.isEmpty()) {
+                    workloads.add(new Workload(codec.name(), "batch-encode", size, encoded, null, 0,
+                            () -> encode(codec, users, null)));
+                    workloads.add(new Workload(codec.name(), "batch-decode", size, encoded, null, 0,
+                            () -> decode(codec, users, null)));
+                }
+                for (Compressor compressor : compressors) {
+                    int compressed = compressedSize(codec, users, compressor);
+                    workloads.add(new Workload(codec.name(), "batch-encode-" + compressor.name(), size, encoded,
+                            compressor.name(), compressed, () -> encode(codec, users, compressor)));
+                    workloads.add(new Workload(codec.name(), "batch-decode-" + compressor.name(), size, encoded,
+                            compressor.name(), compressed, () -> decode(codec, users, compressor)));
+                }
+            }
+        }
+
+        int threads = options.intValue("threads", THREAD_COUNT);
+        report.benchmark_meta.threads = threads;
+        report.benchmark_meta.total_iterations = options.intValue("iterations", TOTAL_ITERATIONS);
+        report.benchmark_meta.warmup_ms = options.intValue("warmup-ms", WARMUP_MS);
+        report.benchmark_meta.duration_ms = options.intValue("duration-ms", 0);
+        if (options.flag("sweep")) {
+            // Свип 1, 2, 4 ... N потоков, по умолчанию и на платформенных, и на виртуальных потоках
+            String threadType = options.string("thread-type", "both");
+            for (String type : threadType.equals("both") ? List.of(PLATFORM, VIRTUAL) : List.of(threadType)) {
+                for (Workload workload : workloads) {
+                    report.results.addAll(sweep(workload, threads, type));
+                }
+            }
+        } else {
+            String threadType = options.string("thread-type", PLATFORM);
+            for (Workload workload : workloads) {
+                report.results.add(measure(workload, threads, threadType));
+            }
+        }
+
+        // Вывод JSON
+        System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+    }
+
+    static void runProtobufFile(BenchmarkReport report) throws IOException {
+        for (String option : List.of("threads", "thread-type", "sweep", "rate", "duration-ms")) {
+            if (options.has(option)) {
+                throw new IllegalArgumentException("--protobuf-file writes and reads the file in one thread, --" + option + " is not supported");
+            }
+        }
+        List<User> users = corpus(options.intValue("records", FILE_RECORDS), report);
+        List<Integer> bufferSizes = options.string("buffer-sizes", "").isEmpty() ? ProtobufFileStream.BUFFER_SIZES
+                : Arrays.stream(options.string("buffer-sizes", "").split(",")).map(String::trim).map(Integer::valueOf).toList();
+        report.benchmark_meta.threads = 1;
+        report.benchmark_meta.total_iterations = users.size();
+        report.results.addAll(new ProtobufFileStream(users, Files.createTempFile(fileDir(), "users-", ".pb")).run(bufferSizes));
+    }
 
-        // JSON
-        report.results.add(measure("json", () -> {
+    // Поиск по mmap-хранилищу идет через обычный харнесс: --threads, --iterations, --duration-ms, --rate.
+    // --read задает, что читается из найденной записи (по умолчанию one-field)
+    static void runFlatBuffersMmap(BenchmarkReport report) throws Exception {
+        if (options.has("sweep")) {
+            throw new IllegalArgumentException("--flatbuffers-mmap runs at a fixed --threads, --sweep is not supported");
+        }
+        List<User> users = corpus(options.intValue("records", FILE_RECORDS), report);
+        String read = options.string("read", ReadPattern.ONE_FIELD.label);
+        List<ReadPattern> patterns = read.equals("all") ? List.of(ReadPattern.values())
+                : Arrays.stream(read.split(",")).map(String::trim).map(ReadPattern::of).toList();
+        int threads = options.intValue("threads", THREAD_COUNT);
+        String threadType = options.string("thread-type", PLATFORM);
+        report.benchmark_meta.threads = threads;
+        report.benchmark_meta.total_iterations = options.intValue("iterations", TOTAL_ITERATIONS);
+        report.benchmark_meta.warmup_ms = options.intValue("warmup-ms", WARMUP_MS);
+        report.benchmark_meta.duration_ms = options.intValue("duration-ms", 0);
+
+        Path dir = fileDir();
+        FlatBuffersMmapStore store = new FlatBuffersMmapStore(Files.createTempFile(dir, "users-", ".fb"),
+                Files.createTempFile(dir, "users-", ".idx"));
+        try {
+            store.write(users);
+            store.map();
+            store.verify(users);
+            users = null; // дальше нужен только файл
+            int size = (int) (store.sizeBytes() / store.count());
+            for (ReadPattern pattern : patterns) {
+                for (boolean random : new boolean[]{true, false}) {
+                    String operation = (random ? "mmap-random-" : "mmap-sequential-") + pattern.label;
+                    BenchmarkResult r = measure(new Workload("flatbuffers", operation, size,
+                            () -> random ? store.randomLookup(pattern) : store.sequentialScan(pattern)), threads, threadType);
+                    r.file_stream = new FileStreamStats();
+                    r.file_stream.io = "mmap";
+                    r.file_stream.buffer_type = "mapped";
+                    r.file_stream.records = store.count();
+                    r.file_stream.file_bytes = store.sizeBytes();
+                    // Объем записей, через которые прошел поиск; для one-field и id-active из записи
+                    // читается только пара полей, и такая цифра выдавала бы себя за пропускную способность чтения
+                    if (pattern == ReadPattern.ALL_FIELDS || pattern == ReadPattern.COPY) {
+                        r.file_stream.mb_per_second = r.performance.rps * size / 1e6;
+                    }
+                    report.results.add(r);
+                }
+            }
+        } finally {
+            store.delete();
+        }
+    }
+
+    // Каждый рабочий поток - одно соединение, поэтому --connections задает и число потоков (по умолчанию виртуальных).
+    // --sweep проходит 1, 2, 4 ... N соединений
+    static void runLoopback(BenchmarkReport report, User user) throws Exception {
+        int connections = options.intValue("connections", LOOPBACK_CONNECTIONS);
+        String threadType = options.string("thread-type", VIRTUAL);
+        report.benchmark_meta.threads = connections;
+        report.benchmark_meta.total_iterations = options.intValue("iterations", TOTAL_ITERATIONS);
+        report.benchmark_meta.warmup_ms = options.intValue("warmup-ms", WARMUP_MS);
+        report.benchmark_meta.duration_ms = options.intValue("duration-ms", 0);
+        List<User> verifySample = CodecVerifier.sample();
+        for (Codec<?> codec : loadCodecs(options.string("formats", ""))) {
+            CodecVerifier.verifyWithSample(codec, user, verifySample);
+            for (LoopbackTransport.Server server : LoopbackTransport.Server.values()) {
+                report.results.addAll(loopback(codec, user, server, connections, threadType));
+            }
+        }
+    }
+
+    static <T> List<BenchmarkResult> loopback(Codec<T> codec, User user, LoopbackTransport.Server server,
+                                              int connections, String threadType) throws Exception {
+        T message = codec.fromModel(user);
+        int size = encodedSize(codec, user);
+        try (LoopbackTransport<T> transport = new LoopbackTransport<>(codec, server)) {
+            transport.verify(message);
+            Workload workload = new Workload(codec.name(), "loopback-" + server.label, size, () -> transport.task(message));
+            List<BenchmarkResult> results = options.flag("sweep") ? sweep(workload, connections, threadType)
+                    : List.of(measure(workload, connections, threadType));
+            for (BenchmarkResult r : results) {
+                r.transport = new TransportStats();
+                r.transport.server = server.label;
+                r.transport.connections = r.threads;
+                r.transport.frame_bytes = LoopbackTransport.HEADER + size;
+                r.transport.mb_per_second = r.performance.rps * 2 * r.transport.frame_bytes / 1e6;
+            }
+            return results;
+        }
+    }
+
+    static Path fileDir() {
+        return Path.of(options.string("file-dir", System.getProperty("java.io.tmpdir")));
+    }
+
+    // Детерминированный корпус из --seed и --size-mix; параметры попадают в benchmark_meta
+    static List<User> corpus(int size, BenchmarkReport report) {
+        int seed = options.intValue("seed", CORPUS_SEED);
+        String sizeMix = options.string("size-mix", "");
+        int[] mix = sizeMix.isEmpty() ? UserGenerator.DEFAULT_MIX
+                : Arrays.stream(sizeMix.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        report.benchmark_meta.corpus_size = size;
+        report.benchmark_meta.corpus_seed = seed;
+        report.benchmark_meta.corpus_size_mix = Arrays.toString(mix);
+        return UserGenerator.corpus(seed, size, mix);
+    }
+
+    // Кодеки из ServiceLoader; names - список через запятую, пустая строка - все найденные
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static List<Codec<?>> loadCodecs(String names) {
+        return (List) load(Codec.class, Codec::name, names, "format");
+    }
+
+    static List<Compressor> loadCompressors(String names) {
+        return load(Compressor.class, Compressor::name, names, "compressor");
+    }
+
+    // Batch-вариант есть не у каждого формата: форматы без него из --formats пропускаются
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static List<BatchCodec<?>> loadBatchCodecs(String names) {
+        List<BatchCodec<?>> all = (List) load(BatchCodec.class, BatchCodec::name, "", "format");
+        if (names.isEmpty()) {
+            return all;
+        }
+        Set<String> selected = Arrays.stream(names.split(",")).map(String::trim).collect(Collectors.toSet());
+        return all.stream().filter(codec -> selected.contains(codec.name())).toList();
+    }
+
+    static <S> List<S> load(Class<S> type, Function<S, String> nameOf, String names, String kind) {
+        Map<String, S> available = new LinkedHashMap<>();
+        for (S service : ServiceLoader.load(type)) {
+            available.put(nameOf.apply(service), service);
+        }
+        if (names.isEmpty()) {
+            return new ArrayList<>(available.values());
+        }
+        List<S> selected = new ArrayList<>();
+        for (String name : names.split(",")) {
+            S service = available.get(name.trim());
+            if (service == null) {
+                throw new IllegalArgumentException("unknown " + kind + ": " + name + ", available: " + available.keySet());
+            }
+            selected.add(service);
+        }
+        return selected;
+    }
+
+    static <T> int encodedSize(Codec<T> codec, User user) throws IOException {
+        return codec.encode(codec.fromModel(user)).length;
+    }
+
+    // Сообщение готовится один раз, в замер попадает codec.roundtrip (encode + decode)
+    static <T> Runnable roundtrip(Codec<T> codec, User user) {
+        T message = codec.fromModel(user);
+        return () -> {
             try {
-                byte[] data = jsonMapper.writeValueAsBytes(user);
-                jsonMapper.readValue(data, UserProtos.UserProto.class);
-            } catch (Exception e) {
+                codec.roundtrip(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }));
+        };
+    }
 
-        // XML
-        report.results.add(measure("xml", () -> {
+    // Только декодирование и чтение: данные кодируются один раз заранее
+    static <T> Runnable read(Codec<T> codec, User user, ReadPattern pattern) {
+        byte[] data;
+        try {
+            data = codec.encode(codec.fromModel(user));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return () -> {
             try {
-                byte[] data = xmlMapper.writeValueAsBytes(user);
-                xmlMapper.readValue(data, User.class);
-            } catch (Exception e) {
+                codec.read(data, pattern);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
-        }));
+        };
+    }
 
-        // Protobuf
-        report.results.add(measure("protobuf", () -> {
+    static <T> int averageEncodedSize(Codec<T> codec, List<User> users) throws IOException {
+        long total = 0;
+        for (User u : users) {
+            total += codec.encode(codec.fromModel(u)).length;
+        }
+        return (int) (total / users.size());
+    }
+
+    // Корпус: сообщения готовятся заранее, каждая операция берет следующее по кругу
+    @SuppressWarnings("unchecked")
+    static <T> Runnable roundtrip(Codec<T> codec, List<User> users) {
+        Object[] messages = new Object[users.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = codec.fromModel(users.get(i));
+        }
+        CorpusCycle<Object> cycle = new CorpusCycle<>(messages);
+        return () -> {
             try {
-                byte[] data = protoUser.toByteArray();
-                UserProtos.UserProto.parseFrom(data);
-            } catch (Exception e) {
-            }
-        }));
-
-        // FlatBuffers
-        report.results.add(measure("flatbuffers", () -> {
-            FlatBufferBuilder b = new FlatBufferBuilder(0);
-            int name = b.createString(user.name);
-            int email = b.createString(user.email);
-            int id = b.createString(user.id);
-            int[] roles = new int[user.roles.length];
-            for (int i = 0; i < user.roles.length; i++) {
-                roles[i] = b.createString(user.roles[i]);
-            }
-            int rolesVec = ram.ka.ru.models.flatbuffers.User.createRolesVector(b, roles);
-            ram.ka.ru.models.flatbuffers.User.startUser(b);
-            ram.ka.ru.models.flatbuffers.User.addId(b, id);
-            ram.ka.ru.models.flatbuffers.User.addName(b, name);
-            ram.ka.ru.models.flatbuffers.User.addEmail(b, email);
-            ram.ka.ru.models.flatbuffers.User.addAge(b, user.age);
-            ram.ka.ru.models.flatbuffers.User.addActive(b, user.active);
-            ram.ka.ru.models.flatbuffers.User.addBalance(b, user.balance);
-            ram.ka.ru.models.flatbuffers.User.addRoles(b, rolesVec);
-            int root = ram.ka.ru.models.flatbuffers.User.endUser(b);
-            b.finish(root);
-            ram.ka.ru.models.flatbuffers.User.getRootAsUser(b.dataBuffer()).name();
-        }));
+                codec.roundtrip((T) cycle.next());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 
-        // Вывод JSON
-        System.out.println(jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
-        executor.shutdown();
+    static <T> Runnable read(Codec<T> codec, List<User> users, ReadPattern pattern) {
+        byte[][] encoded = new byte[users.size()][];
+        try {
+            for (int i = 0; i < encoded.length; i++) {
+                encoded[i] = codec.encode(codec.fromModel(users.get(i)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CorpusCycle<byte[]> cycle = new CorpusCycle<>(encoded);
+        return () -> {
+            try {
+                codec.read(cycle.next(), pattern);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 
-    static BenchmarkResult measure(String format, Runnable task) throws Exception {
-        MemoryMXBean memBean = ManagementFactory.getMemoryMXBean();
-        MemoryUsage startMem = memBean.getHeapMemoryUsage();
-        long startAllocs = -1; // Java не предоставляет точное число аллокаций без JFR
+    static <T> int encodedSize(BatchCodec<T> codec, List<User> users) throws IOException {
+        return codec.encode(codec.fromModel(users)).length;
+    }
 
-        long start = System.nanoTime();
+    static <T> Runnable roundtrip(BatchCodec<T> codec, List<User> users) {
+        T message = codec.fromModel(users);
+        return () -> {
+            try {
+                codec.roundtrip(message);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 
-        CountDownLatch latch = new CountDownLatch(THREAD_COUNT);
-        IntStream.range(0, THREAD_COUNT)
-                .parallel()
-                .forEach(i -> {
-                    executor.submit(
-                            () -> {
-                                try {
-                                    for (int k = 0; k < TOTAL_ITERATIONS / THREAD_COUNT; k++) {
-                                        task.run();
-                                    }
-                                } finally {
-                                    latch.countDown();
-                                }
-                            }
-                    );
-                });
+    static <T> int compressedSize(BatchCodec<T> codec, List<User> users, Compressor compressor) throws IOException {
+        return compressor.compress(codec.encode(codec.fromModel(users))).length;
+    }
 
-        latch.await();
+    // То же, что encode/decode ниже, для пачки
+    static <T> Runnable encode(BatchCodec<T> codec, List<User> users, Compressor compressor) {
+        T batch = codec.fromModel(users);
+        return () -> {
+            try {
+                byte[] data = codec.encode(batch);
+                if (compressor != null) {
+                    compressor.compress(data);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
 
-        long elapsedNs = System.nanoTime() - start; // Время в наносекундах
-        MemoryUsage endMem = memBean.getHeapMemoryUsage();
+    static <T> Runnable decode(BatchCodec<T> codec, List<User> users, Compressor compressor) {
+        byte[] data;
+        try {
+            byte[] encoded = codec.encode(codec.fromModel(users));
+            data = compressor == null ? encoded : compressor.compress(encoded);
+            if (compressor != null && !Arrays.equals(encoded, compressor.decompress(data))) {
+                throw new IllegalStateException(compressor.name() + ": decompressed data differs from input");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return () -> {
+            try {
+                codec.decode(compressor == null ? data : compressor.decompress(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    static <T> int compressedSize(Codec<T> codec, User user, Compressor compressor) throws IOException {
+        return compressor.compress(codec.encode(codec.fromModel(user))).length;
+    }
+
+    // encode (+ compress, если compressor != null) в новый массив
+    static <T> Runnable encode(Codec<T> codec, User user, Compressor compressor) {
+        T message = codec.fromModel(user);
+        return () -> {
+            try {
+                byte[] data = codec.encode(message);
+                if (compressor != null) {
+                    compressor.compress(data);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // (decompress, если compressor != null +) decode заранее подготовленных данных
+    static <T> Runnable decode(Codec<T> codec, User user, Compressor compressor) {
+        T message = codec.fromModel(user);
+        byte[] encoded;
+        byte[] data;
+        try {
+            encoded = codec.encode(message);
+            data = compressor == null ? encoded : compressor.compress(encoded);
+            if (compressor != null && !Arrays.equals(encoded, compressor.decompress(data))) {
+                throw new IllegalStateException(compressor.name() + ": decompressed data differs from input");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return () -> {
+            try {
+                codec.decode(compressor == null ? data : compressor.decompress(data));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // Эффективность масштабирования шага = rps(n) / (n * rps(1))
+    static List<BenchmarkResult> sweep(Workload workload, int maxThreads, String threadType) throws Exception {
+        List<BenchmarkResult> results = new ArrayList<>();
+        double baselineRps = 0;
+        for (int n = 1; ; n = Math.min(n * 2, maxThreads)) {
+            BenchmarkResult r = measure(workload, n, threadType);
+            if (n == 1) {
+                baselineRps = r.performance.rps;
+            }
+            r.scaling_efficiency = r.performance.rps / (n * baselineRps);
+            results.add(r);
+            if (n == maxThreads) {
+                return results;
+            }
+        }
+    }
+
+    static ThreadFactory threadFactory(String threadType) {
+        return switch (threadType) {
+            case PLATFORM -> Thread.ofPlatform().name(WORKER_PREFIX, 0).factory();
+            case VIRTUAL -> Thread.ofVirtual().name(WORKER_PREFIX, 0).factory();
+            default -> throw new IllegalArgumentException("unknown thread type: " + threadType);
+        };
+    }
 
-        double rps = (double) TOTAL_ITERATIONS / toSeconds(elapsedNs);
-        long latencyNs = elapsedNs / TOTAL_ITERATIONS;
+    // Счетчики ThreadMXBean для виртуальных потоков не поддерживаются (-1),
+    // поэтому в режиме virtual память и CPU по потокам в отчет не пишутся
+    static BenchmarkResult measure(Workload workload, int threadCount, String threadType) throws Exception {
+        Runnable task = workload.task().get();
+        // Число аллокаций Java отдает только через JFR, поэтому запись включается опцией --jfr
+        JfrProfiler profiler = options.flag("jfr") ? new JfrProfiler(WORKER_PREFIX) : null;
+        // Статистика на каждый поток: гистограмма (recordValue не аллоцирует и не требует синхронизации),
+        // точные счетчики выделенных байт (не сбрасываются сборкой мусора) и CPU-время
+        WorkerStats[] workers = new WorkerStats[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            workers[i] = new WorkerStats(HISTOGRAM_MAX_NS, HISTOGRAM_DIGITS);
+        }
+
+        int iterations = options.intValue("iterations", TOTAL_ITERATIONS);
+        long durationNs = TimeUnit.MILLISECONDS.toNanos(options.intValue("duration-ms", 0));
+        long warmupNs = TimeUnit.MILLISECONDS.toNanos(options.intValue("warmup-ms", WARMUP_MS));
+        // В режиме --duration-ms число операций ограничено только временем.
+        // Для пачек --iterations считает пользователей, но хотя бы одна пачка на поток
+        long perThread = durationNs > 0 ? Long.MAX_VALUE : Math.max(1, iterations / workload.batchSize() / threadCount);
+        // --rate - открытый цикл с постоянной интенсивностью, делится поровну между потоками
+        int targetRps = options.intValue("rate", 0);
+        long intervalNs = targetRps > 0 ? TimeUnit.SECONDS.toNanos(threadCount) / targetRps : 0;
+
+        long elapsedNs;
+        long processCpuNs;
+        try (WorkerPool pool = new WorkerPool(threadCount, threadFactory(threadType))) {
+            // Прогрев: те же потоки и та же задача, статистика отбрасывается
+            if (warmupNs > 0) {
+                WorkerStats[] warmup = new WorkerStats[threadCount];
+                for (int i = 0; i < threadCount; i++) {
+                    warmup[i] = new WorkerStats(HISTOGRAM_MAX_NS, HISTOGRAM_DIGITS);
+                }
+                pool.run(task, Long.MAX_VALUE, warmupNs, warmup);
+            }
 
-        long memUsed = Math.max(0, endMem.getUsed() - startMem.getUsed());
+            if (profiler != null) {
+                profiler.start();
+            }
+            long processCpuStart = osBean.getProcessCpuTime();
+            elapsedNs = pool.run(task, perThread, durationNs, intervalNs, workers); // Время в наносекундах
+            processCpuNs = osBean.getProcessCpuTime() - processCpuStart;
+        }
+
+        long totalOps = 0;
+        long missedOps = 0;
+        long memUsed = 0;
+        long cpuNs = 0;
+        long userNs = 0;
+        boolean memoryKnown = true;
+        boolean cpuKnown = true;
+        Histogram merged = new Histogram(HISTOGRAM_MAX_NS, HISTOGRAM_DIGITS);
+        for (WorkerStats stats : workers) {
+            totalOps += stats.ops;
+            missedOps += stats.missed;
+            memUsed += stats.allocatedBytes;
+            cpuNs += stats.cpuTimeNs;
+            userNs += stats.userTimeNs;
+            memoryKnown &= stats.allocatedBytes != WorkerStats.UNSUPPORTED;
+            cpuKnown &= stats.cpuTimeNs != WorkerStats.UNSUPPORTED && stats.userTimeNs != WorkerStats.UNSUPPORTED;
+            merged.add(stats.histogram);
+        }
+        totalOps = Math.max(1, totalOps);
+        double rps = (double) totalOps / toSeconds(elapsedNs);
 
         BenchmarkResult r = new BenchmarkResult();
-        r.format = format;
+        r.format = workload.format();
+        r.operation = workload.operation();
+        r.threads = threadCount;
+        r.thread_type = threadType;
+        r.encoded_size_bytes = workload.encodedSize();
+        if (workload.batchSize() > 1) {
+            r.batch_size = workload.batchSize();
+        }
+        if (workload.compression() != null) {
+            r.compression = workload.compression();
+            r.compressed_size_bytes = workload.compressedSize();
+            r.compression_ratio = (double) workload.encodedSize() / workload.compressedSize();
+        }
         r.performance.rps = rps;
-        r.performance.latency_ns.mean = latencyNs;
-        r.performance.latency_ns.p50 = latencyNs;
-        r.performance.latency_ns.p99 = (long) (latencyNs * 1.5);
-        r.resources.memory_allocated_bytes = memUsed;
-        r.resources.memory_allocations_count = 0;
+        r.performance.operations = totalOps;
+        r.performance.load_mode = intervalNs > 0 ? "open" : "closed";
+        r.performance.target_rps = targetRps;
+        r.performance.missed_operations = missedOps;
+        r.performance.latency_ns = latencyStats(merged);
+        if (memoryKnown) {
+            r.resources.memory_allocated_bytes = memUsed;
+            r.resources.memory_allocated_bytes_per_op = memUsed / totalOps;
+            if (workload.batchSize() > 1) {
+                r.resources.memory_allocated_bytes_per_record = memUsed / (totalOps * workload.batchSize());
+            }
+        }
+        if (cpuKnown) {
+            r.resources.cpu_user_time_ms = TimeUnit.NANOSECONDS.toMillis(userNs);
+            // user-время идет с гранулярностью тика ОС и может слегка превышать общее CPU-время
+            r.resources.cpu_system_time_ms = TimeUnit.NANOSECONDS.toMillis(Math.max(0, cpuNs - userNs));
+            r.resources.cpu_ns_per_op = cpuNs / totalOps;
+        }
+        r.resources.process_cpu_time_ms = TimeUnit.NANOSECONDS.toMillis(processCpuNs);
+        if (workload.batchSize() > 1) {
+            r.performance.records_per_second = rps * workload.batchSize();
+        }
+        if (profiler != null) {
+            profiler.stop(r.resources, memoryKnown ? memUsed : WorkerStats.UNSUPPORTED);
+        }
 
         return r;
     }
 
+    static LatencyStats latencyStats(Histogram h) {
+        LatencyStats stats = new LatencyStats();
+        stats.mean = Math.round(h.getMean());
+        stats.p50 = h.getValueAtPercentile(50);
+        stats.p90 = h.getValueAtPercentile(90);
+        stats.p99 = h.getValueAtPercentile(99);
+        stats.p999 = h.getValueAtPercentile(99.9);
+        stats.max = h.getMaxValue();
+        stats.stddev = h.getStdDeviation();
+        return stats;
+    }
+
     static double toSeconds(long elapsedNanos) {
         long sec = elapsedNanos / 1_000_000_000L;
         long nsec = elapsedNanos % 1_000_000_000L;
@@ -0,0 +1,170 @@
+package ram.ka.ru;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+// Пул заранее запущенных рабочих потоков. Каждая фаза (прогрев, замер) стартует на общем барьере,
+// поэтому создание потоков и сабмит задач не попадают в измеряемое время, а потоки не стартуют вразнобой.
+class WorkerPool implements AutoCloseable {
+
+    // Ближе к запланированному моменту не паркуемся, а крутимся: точность parkNanos ~50 мкс
+    static final long PARK_THRESHOLD_NS = 100_000;
+
+    private final Thread[] threads;
+    private final CyclicBarrier start;
+    private final CyclicBarrier done;
+
+    // Параметры текущей фазы: пишутся до start.await(), барьер публикует их рабочим потокам
+    private Runnable task;
+    private long opsPerThread;
+    private long durationNs;
+    private long intervalNs;
+    private WorkerStats[] stats;
+    private boolean closed;
+
+    // Выставляются действием барьера в момент общего старта
+    private long phaseStart;
+    private long deadline;
+
+    private volatile Throwable failure;
+
+    WorkerPool(int size, ThreadFactory factory) {
+        start = new CyclicBarrier(size + 1, () -> {
+            phaseStart = System.nanoTime();
+            deadline = durationNs > 0 ? phaseStart + durationNs : Long.MAX_VALUE;
+        });
+        done = new CyclicBarrier(size + 1);
+        threads = new Thread[size];
+        for (int i = 0; i < size; i++) {
+            int index = i;
+            threads[i] = factory.newThread(() -> loop(index));
+            threads[i].start();
+        }
+    }
+
+    // Одна фаза закрытого цикла: каждый поток выполняет opsPerThread операций подряд
+    // или работает durationNs (что наступит раньше).
+    // Возвращает время фазы от общего старта до завершения последнего потока.
+    long run(Runnable task, long opsPerThread, long durationNs, WorkerStats[] stats) throws Exception {
+        return run(task, opsPerThread, durationNs, 0, stats);
+    }
+
+    // intervalNs > 0 - открытый цикл: каждый поток запускает операции по расписанию раз в intervalNs
+    // (потоки сдвинуты друг относительно друга), задержка считается от запланированного старта,
+    // чтобы отставание от расписания попадало в гистограмму (без coordinated omission)
+    long run(Runnable task, long opsPerThread, long durationNs, long intervalNs, WorkerStats[] stats) throws Exception {
+        this.task = task;
+        this.opsPerThread = opsPerThread;
+        this.durationNs = durationNs;
+        this.intervalNs = intervalNs;
+        this.stats = stats;
+        start.await();
+        done.await();
+        long elapsedNs = System.nanoTime() - phaseStart;
+        if (failure != null) {
+            throw new IllegalStateException("benchmark task failed", failure);
+        }
+        return elapsedNs;
+    }
+
+    private void loop(int index) {
+        try {
+            while (true) {
+                start.await();
+                if (closed) {
+                    return;
+                }
+                try {
+                    if (intervalNs > 0) {
+                        runOpenLoopPhase(stats[index], index);
+                    } else {
+                        runPhase(stats[index]);
+                    }
+                } catch (Throwable t) {
+                    failure = t;
+                }
+                done.await();
+            }
+        } catch (InterruptedException | BrokenBarrierException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runPhase(WorkerStats s) {
+        Runnable task = this.task;
+        long limit = opsPerThread;
+        long deadline = this.deadline;
+
+        s.begin();
+        long ops = 0;
+        long now = System.nanoTime();
+        while (ops < limit && now < deadline) {
+            long opStart = now;
+            task.run();
+            now = System.nanoTime();
+            s.record(now - opStart);
+            ops++;
+        }
+        s.ops = ops;
+        s.end();
+    }
+
+    private void runOpenLoopPhase(WorkerStats s, int index) {
+        Runnable task = this.task;
+        long limit = opsPerThread;
+        long deadline = this.deadline;
+        long interval = intervalNs;
+
+        s.begin();
+        long ops = 0;
+        long intended = phaseStart + interval * index / threads.length;
+        long now = System.nanoTime();
+        // Не успевший за расписанием поток останавливается по дедлайну: оставшиеся запланированные
+        // операции считаются пропущенными, чтобы фаза не растягивалась на разбор очереди
+        while (ops < limit && intended < deadline && now < deadline) {
+            now = System.nanoTime();
+            while (now < intended) {
+                long remaining = intended - now;
+                if (remaining > PARK_THRESHOLD_NS) {
+                    LockSupport.parkNanos(remaining - PARK_THRESHOLD_NS);
+                } else {
+                    Thread.onSpinWait();
+                }
+                now = System.nanoTime();
+            }
+            task.run();
+            now = System.nanoTime();
+            s.record(now - intended);
+            ops++;
+            intended += interval;
+        }
+        s.ops = ops;
+        s.missed = missedOps(intended, deadline, interval, ops, limit);
+        s.end();
+    }
+
+    // Запланированные старты из [intended, deadline), до которых поток не дошел (не больше остатка лимита)
+    static long missedOps(long intended, long deadline, long interval, long ops, long limit) {
+        if (intended >= deadline || ops >= limit) {
+            return 0;
+        }
+        return Math.min((deadline - intended + interval - 1) / interval, limit - ops);
+    }
+
+    // InterruptedException не пробрасывается (иначе -Xlint:try в try-with-resources):
+    // прерванный поток перестает ждать рабочие потоки и сохраняет флаг прерывания
+    @Override
+    public void close() throws BrokenBarrierException {
+        closed = true;
+        try {
+            start.await();
+            for (Thread t : threads) {
+                t.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
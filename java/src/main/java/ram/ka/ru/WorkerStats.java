@@ -0,0 +1,52 @@
+package ram.ka.ru;
+
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.ManagementFactory;
+
+// Счетчики одного рабочего потока за измеряемый батч.
+// begin()/end() вызываются из самого рабочего потока, чтение - после его завершения.
+class WorkerStats {
+
+    static final long UNSUPPORTED = -1;
+
+    static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    final Histogram histogram;
+    long ops;
+    long missed; // открытый цикл: запланированные, но не начатые до дедлайна операции
+    // UNSUPPORTED - ThreadMXBean не считает виртуальные потоки (возвращает -1)
+    long allocatedBytes;
+    long cpuTimeNs;
+    long userTimeNs;
+
+    private long threadId;
+
+    WorkerStats(long highestTrackableNs, int significantDigits) {
+        histogram = new Histogram(highestTrackableNs, significantDigits);
+    }
+
+    // Значения выше верхней границы гистограммы обрезаются
+    void record(long latencyNs) {
+        histogram.recordValue(Math.min(latencyNs, histogram.getHighestTrackableValue()));
+    }
+
+    void begin() {
+        threadId = Thread.currentThread().threadId();
+        allocatedBytes = threadBean.getThreadAllocatedBytes(threadId);
+        cpuTimeNs = threadBean.getThreadCpuTime(threadId);
+        userTimeNs = threadBean.getThreadUserTime(threadId);
+    }
+
+    void end() {
+        allocatedBytes = delta(allocatedBytes, threadBean.getThreadAllocatedBytes(threadId));
+        cpuTimeNs = delta(cpuTimeNs, threadBean.getThreadCpuTime(threadId));
+        userTimeNs = delta(userTimeNs, threadBean.getThreadUserTime(threadId));
+    }
+
+    // Недоступный счетчик на любом конце дает UNSUPPORTED, а не разность -1 - (-1) = 0
+    static long delta(long begin, long end) {
+        return begin < 0 || end < 0 ? UNSUPPORTED : end - begin;
+    }
+}
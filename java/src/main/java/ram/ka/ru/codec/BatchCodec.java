@@ -0,0 +1,27 @@
+package ram.ka.ru.codec;
+
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.util.List;
+
+// Пачка пользователей одним сообщением (опция --batch): массив JSON/XML, repeated UserProto,
+// вектор таблиц User во FlatBuffers. Реализации находятся через ServiceLoader
+// (META-INF/services/ram.ka.ru.codec.BatchCodec), имя совпадает с именем одиночного формата.
+public interface BatchCodec<T> {
+
+    String name();
+
+    // Готовит сообщение из пачки доменных моделей; вызывается один раз, вне замера
+    T fromModel(List<User> users);
+
+    byte[] encode(T batch) throws IOException;
+
+    T decode(byte[] data) throws IOException;
+
+    int size(T batch);
+
+    default T roundtrip(T batch) throws IOException {
+        return decode(encode(batch));
+    }
+}
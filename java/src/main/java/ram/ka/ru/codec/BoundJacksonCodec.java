@@ -0,0 +1,50 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Jackson через заранее привязанные к User ObjectReader/ObjectWriter:
+// поиск сериализатора и десериализатора делается один раз, а не на каждом вызове mapper
+public abstract class BoundJacksonCodec extends JacksonCodec {
+
+    protected final ObjectReader reader;
+    protected final ObjectWriter writer;
+
+    protected BoundJacksonCodec(ObjectMapper mapper) {
+        super(mapper);
+        this.reader = mapper.readerFor(User.class);
+        this.writer = mapper.writerFor(User.class);
+    }
+
+    @Override
+    public byte[] encode(User message) throws IOException {
+        return writer.writeValueAsBytes(message);
+    }
+
+    @Override
+    public User decode(byte[] data) throws IOException {
+        return reader.readValue(data);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) throws IOException {
+        writer.writeValue(new ByteBufferBackedOutputStream(target), message);
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) throws IOException {
+        if (source.hasArray()) {
+            User user = reader.readValue(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            source.position(source.limit());
+            return user;
+        }
+        return reader.readValue(new ByteBufferBackedInputStream(source));
+    }
+}
@@ -0,0 +1,17 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+// CBOR (RFC 8949) на том же databind и той же модели User, что и "json"
+public class CborCodec extends JacksonCodec {
+
+    public CborCodec() {
+        super(new ObjectMapper(new CBORFactory()));
+    }
+
+    @Override
+    public String name() {
+        return "cbor";
+    }
+}
@@ -0,0 +1,44 @@
+package ram.ka.ru.codec;
+
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Формат сериализации для харнесса. Реализации находятся через ServiceLoader
+// (META-INF/services/ram.ka.ru.codec.Codec) и выбираются опцией --formats.
+// T - тип сообщения формата: то, что кодируется и возвращается при декодировании.
+public interface Codec<T> {
+
+    // Имя формата в отчете и в --formats
+    String name();
+
+    // Готовит сообщение из доменной модели; вызывается один раз, вне замера
+    T fromModel(User user);
+
+    byte[] encode(T message) throws IOException;
+
+    T decode(byte[] data) throws IOException;
+
+    // Пишет сообщение с текущей позиции target и сдвигает позицию за конец записи
+    void encodeTo(T message, ByteBuffer target) throws IOException;
+
+    // Читает сообщение от позиции до limit source и сдвигает позицию в limit
+    T decodeFrom(ByteBuffer source) throws IOException;
+
+    // Декодирует data и читает поля по шаблону (см. ReadPattern); результат возвращается,
+    // чтобы JIT не выбросил чтение. По умолчанию - полный decode и шаблон над доменным User;
+    // форматы с ленивым доступом переопределяют и не материализуют сообщение целиком.
+    default Object read(byte[] data, ReadPattern pattern) throws IOException {
+        return pattern.read(toModel(decode(data)));
+    }
+
+    // Доменная модель из сообщения формата (обратное fromModel); на нем построен read по умолчанию
+    User toModel(T message);
+
+    // Одна измеряемая операция харнесса. По умолчанию encode + decode через новый массив,
+    // кодеки с переиспользуемыми буферами переопределяют
+    default T roundtrip(T message) throws IOException {
+        return decode(encode(message));
+    }
+}
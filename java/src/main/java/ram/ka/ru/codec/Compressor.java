@@ -0,0 +1,16 @@
+package ram.ka.ru.codec;
+
+import java.io.IOException;
+
+// Необязательная стадия сжатия поверх закодированного сообщения (опция --compress).
+// Реализации находятся через ServiceLoader (META-INF/services/ram.ka.ru.codec.Compressor).
+public interface Compressor {
+
+    // Имя в отчете и в --compress
+    String name();
+
+    byte[] compress(byte[] data) throws IOException;
+
+    // Вход - результат compress этого же компрессора; длина оригинала берется из него
+    byte[] decompress(byte[] data) throws IOException;
+}
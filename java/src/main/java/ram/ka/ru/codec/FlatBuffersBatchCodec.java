@@ -0,0 +1,44 @@
+package ram.ka.ru.codec;
+
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+import ram.ka.ru.models.flatbuffers.UserBatch;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// Пачка как UserBatch с вектором таблиц User; как и "flatbuffers", decode материализует всех User
+public class FlatBuffersBatchCodec implements BatchCodec<List<User>> {
+
+    @Override
+    public String name() {
+        return "flatbuffers";
+    }
+
+    @Override
+    public List<User> fromModel(List<User> users) {
+        return users;
+    }
+
+    @Override
+    public byte[] encode(List<User> batch) {
+        ByteBuffer buffer = build(batch);
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    @Override
+    public List<User> decode(byte[] data) {
+        return Users.fromFlatBuffer(UserBatch.getRootAsUserBatch(ByteBuffer.wrap(data)));
+    }
+
+    ByteBuffer build(List<User> batch) {
+        return Users.toFlatBuffer(batch);
+    }
+
+    @Override
+    public int size(List<User> batch) {
+        return batch.size();
+    }
+}
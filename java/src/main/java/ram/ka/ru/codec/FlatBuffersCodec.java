@@ -0,0 +1,82 @@
+package ram.ka.ru.codec;
+
+import com.google.flatbuffers.StringVector;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.nio.ByteBuffer;
+
+// Сообщение - доменный User: кодирование строит буфер через FlatBufferBuilder,
+// декодирование читает все поля таблицы, как это делают остальные форматы.
+// read() работает прямо по буферу без материализации - в этом и смысл FlatBuffers.
+public class FlatBuffersCodec implements Codec<User> {
+
+    @Override
+    public String name() {
+        return "flatbuffers";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) {
+        ByteBuffer buffer = Users.toFlatBuffer(message);
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    @Override
+    public User decode(byte[] data) {
+        return Users.fromFlatBuffer(ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(data)));
+    }
+
+    @Override
+    public Object read(byte[] data, ReadPattern pattern) {
+        return read(ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(data)), new StringVector(), pattern);
+    }
+
+    public static Object read(ram.ka.ru.models.flatbuffers.User u, StringVector roles, ReadPattern pattern) {
+        return switch (pattern) {
+            case ONE_FIELD -> u.id();
+            case ID_ACTIVE -> ReadPattern.idActive(u.id(), u.active());
+            case ALL_FIELDS -> ReadPattern.touch(u.id(), u.name(), u.email(), u.age(), u.active(), touchRoles(u.rolesVector(roles)), u.balance());
+            case COPY -> {
+                StringVector vector = u.rolesVector(roles);
+                String[] copy = new String[vector.length()];
+                for (int i = 0; i < copy.length; i++) {
+                    copy[i] = vector.get(i);
+                }
+                yield ReadPattern.copy(u.id(), u.name(), u.email(), u.age(), u.active(), copy, u.balance());
+            }
+        };
+    }
+
+    static int touchRoles(StringVector roles) {
+        int h = roles.length();
+        for (int i = 0; i < roles.length(); i++) {
+            h += roles.get(i).length();
+        }
+        return h;
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) {
+        target.put(Users.toFlatBuffer(message));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) {
+        User user = Users.fromFlatBuffer(ram.ka.ru.models.flatbuffers.User.getRootAsUser(source.slice()));
+        source.position(source.limit());
+        return user;
+    }
+}
@@ -0,0 +1,83 @@
+package ram.ka.ru.codec;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.StringVector;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.nio.ByteBuffer;
+
+// FlatBuffers так, как его используют в сервисах: builder потока переиспользуется через clear()
+// и сразу имеет достаточный размер, чтение идет через переиспользуемые User/StringVector.
+// roundtrip возвращает объект потока, который перезаписывается следующим вызовом.
+public class FlatBuffersPooledCodec extends FlatBuffersCodec {
+
+    // Сообщение тестового User занимает ~200 байт; builder не должен расти в процессе записи
+    static final int INITIAL_BUILDER = 512;
+
+    static class State {
+        final FlatBufferBuilder builder = new FlatBufferBuilder(INITIAL_BUILDER);
+        final ram.ka.ru.models.flatbuffers.User table = new ram.ka.ru.models.flatbuffers.User();
+        final StringVector roles = new StringVector();
+        final User target = new User();
+        int[] roleOffsets = new int[8];
+    }
+
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String name() {
+        return "flatbuffers-pooled";
+    }
+
+    @Override
+    public User roundtrip(User message) {
+        State s = states.get();
+        ByteBuffer buffer = build(s, message);
+        ram.ka.ru.models.flatbuffers.User.getRootAsUser(buffer, s.table);
+        return Users.fromFlatBuffer(s.table, s.roles, s.target);
+    }
+
+    @Override
+    public byte[] encode(User message) {
+        ByteBuffer buffer = build(states.get(), message);
+        byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    @Override
+    public User decode(byte[] data) {
+        State s = states.get();
+        ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(data), s.table);
+        return Users.fromFlatBuffer(s.table, s.roles, new User());
+    }
+
+    @Override
+    public Object read(byte[] data, ReadPattern pattern) {
+        State s = states.get();
+        return read(ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(data), s.table), s.roles, pattern);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) {
+        target.put(build(states.get(), message));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) {
+        State s = states.get();
+        ram.ka.ru.models.flatbuffers.User.getRootAsUser(source.slice(), s.table);
+        source.position(source.limit());
+        return Users.fromFlatBuffer(s.table, s.roles, new User());
+    }
+
+    ByteBuffer build(State s, User message) {
+        if (s.roleOffsets.length < message.roles.length) {
+            s.roleOffsets = new int[message.roles.length];
+        }
+        s.builder.clear();
+        Users.writeFlatBuffer(s.builder, message, s.roleOffsets);
+        return s.builder.dataBuffer();
+    }
+}
@@ -0,0 +1,27 @@
+package ram.ka.ru.codec;
+
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+// Пачка UserBatch, где повторяющиеся name/email/роли всех пользователей пишутся в builder один раз
+// (createSharedString и SharedStringCache, как в flatbuffers-shared). Экономию видно
+// по encoded_size_bytes рядом с batch-roundtrip "flatbuffers"
+public class FlatBuffersSharedBatchCodec extends FlatBuffersBatchCodec {
+
+    private final ThreadLocal<SharedStringCache> strings = ThreadLocal.withInitial(SharedStringCache::new);
+
+    @Override
+    public String name() {
+        return "flatbuffers-shared";
+    }
+
+    @Override
+    ByteBuffer build(List<User> batch) {
+        SharedStringCache cache = strings.get();
+        cache.reset();
+        return Users.toFlatBuffer(batch, FlatBuffersSharedCodec.SHARED, cache);
+    }
+}
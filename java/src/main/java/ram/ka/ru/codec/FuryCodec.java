@@ -0,0 +1,68 @@
+package ram.ka.ru.codec;
+
+import org.apache.fury.Fury;
+import org.apache.fury.ThreadSafeFury;
+import org.apache.fury.config.Language;
+import org.apache.fury.logging.LoggerFactory;
+import org.apache.fury.memory.MemoryBuffer;
+import ram.ka.ru.models.User;
+
+import java.nio.ByteBuffer;
+
+// Apache Fury в режиме Java: сериализатор User генерируется в рантайме (JIT-кодогенерация Fury),
+// класс зарегистрирован, ссылки не отслеживаются - граф User без циклов и общих объектов
+public class FuryCodec implements Codec<User> {
+
+    static {
+        // Логгер Fury пишет в stdout и ломает JSON-отчет; ошибки и так приходят исключениями
+        LoggerFactory.disableLogging();
+    }
+
+    private final ThreadSafeFury fury = Fury.builder()
+            .withLanguage(Language.JAVA)
+            .requireClassRegistration(true)
+            .withRefTracking(false)
+            .buildThreadLocalFury();
+
+    public FuryCodec() {
+        fury.register(User.class);
+    }
+
+    @Override
+    public String name() {
+        return "fury";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) {
+        return fury.serializeJavaObject(message);
+    }
+
+    @Override
+    public User decode(byte[] data) {
+        return fury.deserializeJavaObject(data, User.class);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) {
+        target.put(fury.serializeJavaObject(message));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) {
+        MemoryBuffer buffer = MemoryBuffer.fromByteBuffer(source.slice());
+        User user = fury.deserializeJavaObject(buffer, User.class);
+        source.position(source.position() + buffer.readerIndex());
+        return user;
+    }
+}
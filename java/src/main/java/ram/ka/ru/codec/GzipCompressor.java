@@ -0,0 +1,34 @@
+package ram.ka.ru.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// gzip из JDK - то, что есть везде без зависимостей
+public class GzipCompressor implements Compressor {
+
+    static final int BUFFER = 512;
+
+    @Override
+    public String name() {
+        return "gzip";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, BUFFER)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data), BUFFER)) {
+            return gzip.readAllBytes();
+        }
+    }
+}
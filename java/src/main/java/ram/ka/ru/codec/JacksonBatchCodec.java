@@ -0,0 +1,49 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.util.List;
+
+// Пачка на Jackson databind - массив User
+public abstract class JacksonBatchCodec implements BatchCodec<List<User>> {
+
+    static final TypeReference<List<User>> USERS = new TypeReference<>() {
+    };
+
+    protected final ObjectReader reader;
+    protected final ObjectWriter writer;
+
+    protected JacksonBatchCodec(ObjectMapper mapper) {
+        this(mapper.readerFor(USERS), mapper.writerFor(USERS));
+    }
+
+    protected JacksonBatchCodec(ObjectReader reader, ObjectWriter writer) {
+        this.reader = reader;
+        this.writer = writer;
+    }
+
+    @Override
+    public List<User> fromModel(List<User> users) {
+        return users;
+    }
+
+    @Override
+    public byte[] encode(List<User> batch) throws IOException {
+        return writer.writeValueAsBytes(batch);
+    }
+
+    @Override
+    public List<User> decode(byte[] data) throws IOException {
+        return reader.readValue(data);
+    }
+
+    @Override
+    public int size(List<User> batch) {
+        return batch.size();
+    }
+}
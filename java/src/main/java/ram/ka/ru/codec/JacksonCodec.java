@@ -0,0 +1,54 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Общая часть форматов на Jackson databind: сообщение - сам доменный User
+public abstract class JacksonCodec implements Codec<User> {
+
+    protected final ObjectMapper mapper;
+
+    protected JacksonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) throws IOException {
+        return mapper.writeValueAsBytes(message);
+    }
+
+    @Override
+    public User decode(byte[] data) throws IOException {
+        return mapper.readValue(data, User.class);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) throws IOException {
+        mapper.writeValue(new ByteBufferBackedOutputStream(target), message);
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) throws IOException {
+        if (source.hasArray()) {
+            User user = mapper.readValue(source.array(), source.arrayOffset() + source.position(), source.remaining(), User.class);
+            source.position(source.limit());
+            return user;
+        }
+        return mapper.readValue(new ByteBufferBackedInputStream(source), User.class);
+    }
+}
@@ -0,0 +1,73 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import ram.ka.ru.models.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+// Встроенная Java-сериализация (java.io.Serializable) - базовая линия для kryo и fury.
+// Десериализация ограничена фильтром: разрешены только User и String[].
+public class JdkSerializationCodec implements Codec<User> {
+
+    static final int INITIAL_BUFFER = 512;
+
+    static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(
+            User.class.getName() + ";java.lang.String;maxdepth=3;!*");
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER);
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(message);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public User decode(byte[] data) throws IOException {
+        return read(new ByteArrayInputStream(data));
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) throws IOException {
+        target.put(encode(message));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) throws IOException {
+        User user = read(new ByteBufferBackedInputStream(source));
+        source.position(source.limit());
+        return user;
+    }
+
+    private static User read(InputStream in) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(in)) {
+            ois.setObjectInputFilter(FILTER);
+            return (User) ois.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
+    }
+}
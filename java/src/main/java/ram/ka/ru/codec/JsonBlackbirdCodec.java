@@ -0,0 +1,19 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// JSON с модулем Blackbird поверх привязанных ObjectReader/ObjectWriter: доступ к полям и сеттерам
+// через сгенерированные LambdaMetafactory лямбды вместо рефлексии. Цену рефлексии в databind показывает
+// разница с "json-bound" (те же reader/writer без Blackbird), а не с "json"
+public class JsonBlackbirdCodec extends BoundJacksonCodec {
+
+    public JsonBlackbirdCodec() {
+        super(JsonMapper.builder().addModule(new BlackbirdModule()).build());
+    }
+
+    @Override
+    public String name() {
+        return "json-blackbird";
+    }
+}
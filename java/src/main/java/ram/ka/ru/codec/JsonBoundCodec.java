@@ -0,0 +1,17 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+// JSON через привязанные ObjectReader/ObjectWriter без Blackbird. Разница с "json" - поиск
+// (де)сериализатора на каждом вызове mapper, разница с "json-blackbird" - цена рефлексии в databind
+public class JsonBoundCodec extends BoundJacksonCodec {
+
+    public JsonBoundCodec() {
+        super(JsonMapper.builder().build());
+    }
+
+    @Override
+    public String name() {
+        return "json-bound";
+    }
+}
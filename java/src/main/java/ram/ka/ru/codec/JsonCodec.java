@@ -0,0 +1,15 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class JsonCodec extends JacksonCodec {
+
+    public JsonCodec() {
+        super(new ObjectMapper());
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+}
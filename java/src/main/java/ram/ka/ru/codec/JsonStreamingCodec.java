@@ -0,0 +1,198 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import ram.ka.ru.models.User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// JSON вручную через JsonGenerator/JsonParser без databind: имена полей закодированы заранее,
+// запись идет в переиспользуемый ByteArrayBuilder потока. Потолок пропускной способности Jackson JSON.
+public class JsonStreamingCodec implements Codec<User> {
+
+    static final int INITIAL_BUFFER = 256;
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString NAME = new SerializedString("name");
+    static final SerializableString EMAIL = new SerializedString("email");
+    static final SerializableString AGE = new SerializedString("age");
+    static final SerializableString ACTIVE = new SerializedString("active");
+    static final SerializableString ROLES = new SerializedString("roles");
+    static final SerializableString BALANCE = new SerializedString("balance");
+
+    private final JsonFactory factory = new JsonFactory();
+    private final ThreadLocal<ByteArrayBuilder> buffers = ThreadLocal.withInitial(() -> new ByteArrayBuilder(INITIAL_BUFFER));
+
+    @Override
+    public String name() {
+        return "json-streaming";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) throws IOException {
+        ByteArrayBuilder out = write(message);
+        return out.toByteArray();
+    }
+
+    @Override
+    public User decode(byte[] data) throws IOException {
+        try (JsonParser p = factory.createParser(data)) {
+            return read(p);
+        }
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) throws IOException {
+        write(message, new ByteBufferBackedOutputStream(target));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) throws IOException {
+        if (source.hasArray()) {
+            User user;
+            try (JsonParser p = factory.createParser(source.array(), source.arrayOffset() + source.position(), source.remaining())) {
+                user = read(p);
+            }
+            source.position(source.limit());
+            return user;
+        }
+        try (JsonParser p = factory.createParser(new ByteBufferBackedInputStream(source))) {
+            return read(p);
+        }
+    }
+
+    @Override
+    public Object read(byte[] data, ReadPattern pattern) throws IOException {
+        if (pattern == ReadPattern.ONE_FIELD || pattern == ReadPattern.ID_ACTIVE) {
+            // Потоковый разбор останавливается, как только прочитаны нужные поля
+            try (JsonParser p = factory.createParser(data)) {
+                expect(p, JsonToken.START_OBJECT);
+                String id = null;
+                Boolean active = pattern == ReadPattern.ONE_FIELD ? Boolean.TRUE : null;
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    p.nextToken();
+                    if (field.equals("id")) {
+                        id = p.getValueAsString();
+                    } else if (field.equals("active")) {
+                        active = p.getBooleanValue();
+                    } else {
+                        p.skipChildren();
+                    }
+                    if (id != null && active != null) {
+                        break;
+                    }
+                }
+                return pattern == ReadPattern.ONE_FIELD ? id : ReadPattern.idActive(id, Boolean.TRUE.equals(active));
+            }
+        }
+        return pattern.read(decode(data));
+    }
+
+    // Разбор из внутреннего сегмента builder без копии в новый массив, если запись уместилась в один сегмент
+    @Override
+    public User roundtrip(User message) throws IOException {
+        ByteArrayBuilder out = write(message);
+        if (out.size() != out.getCurrentSegmentLength()) {
+            return decode(out.toByteArray());
+        }
+        try (JsonParser p = factory.createParser(out.getCurrentSegment(), 0, out.getCurrentSegmentLength())) {
+            return read(p);
+        }
+    }
+
+    private ByteArrayBuilder write(User message) throws IOException {
+        ByteArrayBuilder out = buffers.get();
+        out.reset();
+        write(message, out);
+        return out;
+    }
+
+    private void write(User u, OutputStream out) throws IOException {
+        try (JsonGenerator g = factory.createGenerator(out)) {
+            g.writeStartObject();
+            g.writeFieldName(ID);
+            g.writeString(u.id);
+            g.writeFieldName(NAME);
+            g.writeString(u.name);
+            g.writeFieldName(EMAIL);
+            g.writeString(u.email);
+            g.writeFieldName(AGE);
+            g.writeNumber(u.age);
+            g.writeFieldName(ACTIVE);
+            g.writeBoolean(u.active);
+            g.writeFieldName(ROLES);
+            if (u.roles == null) {
+                g.writeNull();
+            } else {
+                g.writeStartArray(u.roles, u.roles.length);
+                for (String role : u.roles) {
+                    g.writeString(role);
+                }
+                g.writeEndArray();
+            }
+            g.writeFieldName(BALANCE);
+            g.writeNumber(u.balance);
+            g.writeEndObject();
+        }
+    }
+
+    // Порядок полей не важен: неизвестные поля пропускаются, как у databind с игнорированием
+    private static User read(JsonParser p) throws IOException {
+        expect(p, JsonToken.START_OBJECT);
+        User u = new User();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "id" -> u.id = p.getValueAsString();
+                case "name" -> u.name = p.getValueAsString();
+                case "email" -> u.email = p.getValueAsString();
+                case "age" -> u.age = p.getIntValue();
+                case "active" -> u.active = p.getBooleanValue();
+                case "roles" -> u.roles = value == JsonToken.VALUE_NULL ? null : readRoles(p);
+                case "balance" -> u.balance = p.getDoubleValue();
+                default -> p.skipChildren();
+            }
+        }
+        return u;
+    }
+
+    private static String[] readRoles(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("roles: expected array, got " + p.currentToken());
+        }
+        List<String> roles = new ArrayList<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            roles.add(p.getValueAsString());
+        }
+        return roles.toArray(new String[0]);
+    }
+
+    private static void expect(JsonParser p, JsonToken token) throws IOException {
+        if (p.nextToken() != token) {
+            throw new IOException("expected " + token + ", got " + p.currentToken());
+        }
+    }
+}
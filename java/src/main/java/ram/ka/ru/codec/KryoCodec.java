@@ -0,0 +1,99 @@
+package ram.ka.ru.codec;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import ram.ka.ru.models.User;
+
+import java.nio.ByteBuffer;
+
+// Kryo для обмена JVM-JVM. Kryo не потокобезопасен: у каждого потока свои Kryo, Output и Input,
+// классы зарегистрированы заранее, поэтому в поток пишется id класса, а не его имя.
+public class KryoCodec implements Codec<User> {
+
+    static final int INITIAL_BUFFER = 256;
+
+    static class State {
+        final Kryo kryo = new Kryo();
+        // Без верхней границы: буфер растет под сообщение и дальше переиспользуется
+        final Output output = new Output(INITIAL_BUFFER, -1);
+        final Input input = new Input();
+
+        State() {
+            kryo.setRegistrationRequired(true);
+            kryo.setReferences(false);
+            kryo.register(User.class);
+            kryo.register(String[].class);
+        }
+    }
+
+    private final ThreadLocal<State> states = ThreadLocal.withInitial(State::new);
+
+    @Override
+    public String name() {
+        return "kryo";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) {
+        State s = states.get();
+        write(s, message);
+        return s.output.toBytes();
+    }
+
+    @Override
+    public User decode(byte[] data) {
+        return decode(data, 0, data.length);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) {
+        State s = states.get();
+        write(s, message);
+        target.put(s.output.getBuffer(), 0, s.output.position());
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) {
+        User user;
+        if (source.hasArray()) {
+            user = decode(source.array(), source.arrayOffset() + source.position(), source.remaining());
+        } else {
+            byte[] data = new byte[source.remaining()];
+            source.get(data);
+            user = decode(data);
+        }
+        source.position(source.limit());
+        return user;
+    }
+
+    // Чтение прямо из буфера Output потока, без копии
+    @Override
+    public User roundtrip(User message) {
+        State s = states.get();
+        write(s, message);
+        s.input.setBuffer(s.output.getBuffer(), 0, s.output.position());
+        return s.kryo.readObject(s.input, User.class);
+    }
+
+    private static void write(State s, User message) {
+        s.output.reset();
+        s.kryo.writeObject(s.output, message);
+    }
+
+    private User decode(byte[] data, int offset, int length) {
+        State s = states.get();
+        s.input.setBuffer(data, offset, length);
+        return s.kryo.readObject(s.input, User.class);
+    }
+}
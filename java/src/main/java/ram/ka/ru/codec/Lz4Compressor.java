@@ -0,0 +1,27 @@
+package ram.ka.ru.codec;
+
+import net.jpountz.lz4.LZ4CompressorWithLength;
+import net.jpountz.lz4.LZ4DecompressorWithLength;
+import net.jpountz.lz4.LZ4Factory;
+
+// LZ4 (самая быстрая доступная реализация lz4-java), длина оригинала пишется префиксом
+public class Lz4Compressor implements Compressor {
+
+    private final LZ4CompressorWithLength compressor = new LZ4CompressorWithLength(LZ4Factory.fastestInstance().fastCompressor());
+    private final LZ4DecompressorWithLength decompressor = new LZ4DecompressorWithLength(LZ4Factory.fastestInstance().fastDecompressor());
+
+    @Override
+    public String name() {
+        return "lz4";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        return compressor.compress(data);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) {
+        return decompressor.decompress(data);
+    }
+}
@@ -0,0 +1,37 @@
+package ram.ka.ru.codec;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserProtos;
+import ram.ka.ru.models.Users;
+
+import java.util.List;
+
+// Пачка как UserBatch с repeated UserProto
+public class ProtobufBatchCodec implements BatchCodec<UserProtos.UserBatch> {
+
+    @Override
+    public String name() {
+        return "protobuf";
+    }
+
+    @Override
+    public UserProtos.UserBatch fromModel(List<User> users) {
+        return Users.toProto(users);
+    }
+
+    @Override
+    public byte[] encode(UserProtos.UserBatch batch) {
+        return batch.toByteArray();
+    }
+
+    @Override
+    public UserProtos.UserBatch decode(byte[] data) throws InvalidProtocolBufferException {
+        return UserProtos.UserBatch.parseFrom(data);
+    }
+
+    @Override
+    public int size(UserProtos.UserBatch batch) {
+        return batch.getUsersCount();
+    }
+}
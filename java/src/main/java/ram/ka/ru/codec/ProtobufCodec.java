@@ -0,0 +1,64 @@
+package ram.ka.ru.codec;
+
+import com.google.protobuf.CodedOutputStream;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserProtos;
+import ram.ka.ru.models.Users;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class ProtobufCodec implements Codec<UserProtos.UserProto> {
+
+    @Override
+    public String name() {
+        return "protobuf";
+    }
+
+    @Override
+    public UserProtos.UserProto fromModel(User user) {
+        return Users.toProto(user);
+    }
+
+    @Override
+    public User toModel(UserProtos.UserProto message) {
+        return Users.fromProto(message);
+    }
+
+    @Override
+    public byte[] encode(UserProtos.UserProto message) {
+        return message.toByteArray();
+    }
+
+    @Override
+    public UserProtos.UserProto decode(byte[] data) throws IOException {
+        return UserProtos.UserProto.parseFrom(data);
+    }
+
+    @Override
+    public Object read(byte[] data, ReadPattern pattern) throws IOException {
+        UserProtos.UserProto u = decode(data);
+        return switch (pattern) {
+            case ONE_FIELD -> u.getId();
+            case ID_ACTIVE -> ReadPattern.idActive(u.getId(), u.getActive());
+            case ALL_FIELDS -> ReadPattern.touch(u.getId(), u.getName(), u.getEmail(), u.getAge(), u.getActive(),
+                    ReadPattern.touchRoles(u.getRolesList()), u.getBalance());
+            case COPY -> ReadPattern.copy(u.getId(), u.getName(), u.getEmail(), u.getAge(), u.getActive(),
+                    u.getRolesList().toArray(new String[0]), u.getBalance());
+        };
+    }
+
+    @Override
+    public void encodeTo(UserProtos.UserProto message, ByteBuffer target) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(target);
+        message.writeTo(out);
+        out.flush();
+    }
+
+    @Override
+    public UserProtos.UserProto decodeFrom(ByteBuffer source) throws IOException {
+        UserProtos.UserProto message = UserProtos.UserProto.parseFrom(source.slice());
+        source.position(source.limit());
+        return message;
+    }
+}
@@ -0,0 +1,46 @@
+package ram.ka.ru.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import ram.ka.ru.models.UserProtos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// То же, что protobuf-reuse, но буфер потока - direct ByteBuffer (как при записи в сокет/файл).
+// Это не ускорение, а цена off-heap буфера: CodedOutputStream/CodedInputStream в protobuf-java нельзя
+// перенацелить на другой буфер, поэтому оба создаются на каждый вызов (как и в protobuf-reuse),
+// а строки при разборе из direct-буфера сначала декодируются во временный char[] и только потом в String.
+// На одном потоке это ~1.5x медленнее protobuf и ~1060 против ~810 байт аллокаций на roundtrip.
+public class ProtobufDirectCodec extends ProtobufCodec {
+
+    static final int INITIAL_BUFFER = 256;
+
+    private final ThreadLocal<ByteBuffer> buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(INITIAL_BUFFER));
+
+    @Override
+    public String name() {
+        return "protobuf-direct";
+    }
+
+    @Override
+    public UserProtos.UserProto roundtrip(UserProtos.UserProto message) throws IOException {
+        int size = message.getSerializedSize();
+        ByteBuffer buffer = buffer(size);
+        buffer.clear().limit(size);
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        message.writeTo(out);
+        out.flush();
+        buffer.flip();
+        return UserProtos.UserProto.parseFrom(CodedInputStream.newInstance(buffer));
+    }
+
+    private ByteBuffer buffer(int size) {
+        ByteBuffer buffer = buffers.get();
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,41 @@
+package ram.ka.ru.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import ram.ka.ru.models.UserProtos;
+
+import java.io.IOException;
+
+// Protobuf без нового массива на каждое сообщение: запись через CodedOutputStream
+// в переиспользуемый byte[] потока (размер по getSerializedSize) и разбор из него же.
+// Сами CodedOutputStream/CodedInputStream создаются на каждый вызов: сбросить их на новый буфер API не позволяет
+public class ProtobufReuseCodec extends ProtobufCodec {
+
+    static final int INITIAL_BUFFER = 256;
+
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER]);
+
+    @Override
+    public String name() {
+        return "protobuf-reuse";
+    }
+
+    @Override
+    public UserProtos.UserProto roundtrip(UserProtos.UserProto message) throws IOException {
+        int size = message.getSerializedSize();
+        byte[] buffer = buffer(size);
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer, 0, size);
+        message.writeTo(out);
+        out.checkNoSpaceLeft();
+        return UserProtos.UserProto.parseFrom(CodedInputStream.newInstance(buffer, 0, size));
+    }
+
+    private byte[] buffer(int size) {
+        byte[] buffer = buffers.get();
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer.length * 2)];
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+}
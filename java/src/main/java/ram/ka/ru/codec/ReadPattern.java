@@ -0,0 +1,71 @@
+package ram.ka.ru.codec;
+
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserPOJO;
+
+import java.util.List;
+
+// Шаблон доступа к декодированному сообщению (опция --read):
+// ONE_FIELD - только id, ID_ACTIVE - id и active (типичный горячий путь),
+// ALL_FIELDS - чтение всех семи полей, COPY - полная копия в UserPOJO
+public enum ReadPattern {
+    ONE_FIELD("one-field"),
+    ID_ACTIVE("id-active"),
+    ALL_FIELDS("all-fields"),
+    COPY("copy");
+
+    public final String label;
+
+    ReadPattern(String label) {
+        this.label = label;
+    }
+
+    public static ReadPattern of(String label) {
+        for (ReadPattern pattern : values()) {
+            if (pattern.label.equals(label)) {
+                return pattern;
+            }
+        }
+        throw new IllegalArgumentException("unknown read pattern: " + label);
+    }
+
+    // Шаблон над уже материализованным доменным User - для форматов, которые декодируют сообщение целиком
+    public Object read(User u) {
+        return switch (this) {
+            case ONE_FIELD -> u.id;
+            case ID_ACTIVE -> idActive(u.id, u.active);
+            case ALL_FIELDS -> touch(u.id, u.name, u.email, u.age, u.active, touchRoles(u.roles), u.balance);
+            case COPY -> copy(u.id, u.name, u.email, u.age, u.active, u.roles, u.balance);
+        };
+    }
+
+    // id активного пользователя, иначе null: оба поля прочитаны до вызова
+    public static String idActive(String id, boolean active) {
+        return active ? id : null;
+    }
+
+    // Сводит прочитанные поля в одно число, чтобы JIT не выбросил чтение
+    static int touch(String id, String name, String email, int age, boolean active, int rolesHash, double balance) {
+        return id.length() + name.length() + email.length() + age + (active ? 1 : 0) + rolesHash + (int) balance;
+    }
+
+    static int touchRoles(String[] roles) {
+        int h = roles.length;
+        for (String role : roles) {
+            h += role.length();
+        }
+        return h;
+    }
+
+    static int touchRoles(List<String> roles) {
+        int h = roles.size();
+        for (String role : roles) {
+            h += role.length();
+        }
+        return h;
+    }
+
+    static UserPOJO copy(String id, String name, String email, int age, boolean active, String[] roles, double balance) {
+        return new UserPOJO(id, name, email, age, active, roles, balance);
+    }
+}
@@ -0,0 +1,65 @@
+package ram.ka.ru.codec;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import ram.ka.ru.models.Users;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Строки с малой кардинальностью (роли) для FlatBuffers: UTF-8 кодируется один раз и хранится
+// в ограниченном LRU-кэше потока, а внутри одного builder каждая строка пишется только один раз.
+// Экземпляр не потокобезопасен - по одному на поток, reset() вызывается вместе с builder.clear().
+public class SharedStringCache implements Users.FlatStrings {
+
+    static final int DEFAULT_CAPACITY = 256;
+
+    // Готовые UTF-8 байты и offset строки в текущем builder; offset действителен, пока generation совпадает
+    private static final class Entry {
+        final ByteBuffer utf8;
+        int offset;
+        int generation = -1;
+
+        Entry(ByteBuffer utf8) {
+            this.utf8 = utf8;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+    private int generation;
+
+    public SharedStringCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SharedStringCache(int capacity) {
+        entries = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    // Offset'ы относятся к конкретному содержимому builder и после clear() недействительны.
+    // Новое поколение вместо очистки: кэш UTF-8 остается, offset'ы сбрасываются без прохода по записям
+    public void reset() {
+        generation++;
+    }
+
+    @Override
+    public int create(FlatBufferBuilder b, String s) {
+        Entry entry = entries.get(s);
+        if (entry == null) {
+            entry = new Entry(ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+            entries.put(s, entry);
+        } else if (entry.generation == generation) {
+            return entry.offset;
+        }
+        // createString(ByteBuffer) читает буфер до limit и сдвигает его позицию
+        entry.offset = b.createString(entry.utf8.rewind());
+        entry.generation = generation;
+        return entry.offset;
+    }
+}
@@ -0,0 +1,17 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Бинарный JSON (Smile) на том же databind и той же модели User, что и "json"
+public class SmileCodec extends JacksonCodec {
+
+    public SmileCodec() {
+        super(new ObjectMapper(new SmileFactory()));
+    }
+
+    @Override
+    public String name() {
+        return "smile";
+    }
+}
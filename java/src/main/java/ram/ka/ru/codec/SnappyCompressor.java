@@ -0,0 +1,24 @@
+package ram.ka.ru.codec;
+
+import org.xerial.snappy.Snappy;
+
+import java.io.IOException;
+
+// Snappy (snappy-java, нативная библиотека из jar)
+public class SnappyCompressor implements Compressor {
+
+    @Override
+    public String name() {
+        return "snappy";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        return Snappy.compress(data);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        return Snappy.uncompress(data);
+    }
+}
@@ -0,0 +1,20 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+// <Users><item>...</item>...</Users>
+public class XmlBatchCodec extends JacksonBatchCodec {
+
+    public XmlBatchCodec() {
+        this(new XmlMapper());
+    }
+
+    private XmlBatchCodec(XmlMapper mapper) {
+        super(mapper.readerFor(USERS), mapper.writerFor(USERS).withRootName("Users"));
+    }
+
+    @Override
+    public String name() {
+        return "xml";
+    }
+}
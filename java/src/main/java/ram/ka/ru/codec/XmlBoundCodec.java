@@ -0,0 +1,16 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+// XML через привязанные к User ObjectReader/ObjectWriter XmlMapper - сравнивать с "xml"
+public class XmlBoundCodec extends BoundJacksonCodec {
+
+    public XmlBoundCodec() {
+        super(new XmlMapper());
+    }
+
+    @Override
+    public String name() {
+        return "xml-bound";
+    }
+}
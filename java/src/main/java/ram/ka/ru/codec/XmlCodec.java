@@ -0,0 +1,15 @@
+package ram.ka.ru.codec;
+
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+
+public class XmlCodec extends JacksonCodec {
+
+    public XmlCodec() {
+        super(new XmlMapper());
+    }
+
+    @Override
+    public String name() {
+        return "xml";
+    }
+}
@@ -0,0 +1,224 @@
+package ram.ka.ru.codec;
+
+import com.ctc.wstx.stax.WstxInputFactory;
+import com.ctc.wstx.stax.WstxOutputFactory;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedOutputStream;
+import org.codehaus.stax2.io.Stax2ByteArraySource;
+import ram.ka.ru.models.User;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// XML вручную на StAX (Woodstox) с общими на кодек фабриками. Разметка та же, что у XmlMapper:
+// <User><id>..</id>...<roles><roles>admin</roles>...</roles><balance>..</balance></User>,
+// так что сообщения совместимы с "xml". null-поля не пишутся, при чтении остается значение по умолчанию.
+public class XmlStaxCodec implements Codec<User> {
+
+    static final int INITIAL_BUFFER = 512;
+
+    private final WstxInputFactory inputFactory = new WstxInputFactory();
+    private final WstxOutputFactory outputFactory = new WstxOutputFactory();
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    public XmlStaxCodec() {
+        // Без DTD и внешних сущностей: данные партнеров не должны ходить по сети
+        inputFactory.configureForSpeed();
+        inputFactory.setProperty(WstxInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(WstxInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    @Override
+    public String name() {
+        return "xml-stax";
+    }
+
+    @Override
+    public User fromModel(User user) {
+        return user;
+    }
+
+    @Override
+    public User toModel(User message) {
+        return message;
+    }
+
+    @Override
+    public byte[] encode(User message) throws IOException {
+        return write(message).toByteArray();
+    }
+
+    @Override
+    public User decode(byte[] data) throws IOException {
+        return decode(data, 0, data.length);
+    }
+
+    @Override
+    public void encodeTo(User message, ByteBuffer target) throws IOException {
+        write(message, new ByteBufferBackedOutputStream(target));
+    }
+
+    @Override
+    public User decodeFrom(ByteBuffer source) throws IOException {
+        if (source.hasArray()) {
+            User user = decode(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            source.position(source.limit());
+            return user;
+        }
+        try {
+            return read(inputFactory.createXMLStreamReader(new ByteBufferBackedInputStream(source)));
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public Object read(byte[] data, ReadPattern pattern) throws IOException {
+        if (pattern == ReadPattern.ONE_FIELD || pattern == ReadPattern.ID_ACTIVE) {
+            // Разбор останавливается, как только прочитаны нужные элементы
+            try {
+                XMLStreamReader r = inputFactory.createXMLStreamReader(new Stax2ByteArraySource(data, 0, data.length));
+                try {
+                    String id = null;
+                    Boolean active = pattern == ReadPattern.ONE_FIELD ? Boolean.TRUE : null;
+                    r.nextTag();
+                    while (r.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                        if (r.getLocalName().equals("id")) {
+                            id = r.getElementText();
+                        } else if (r.getLocalName().equals("active")) {
+                            active = Boolean.parseBoolean(r.getElementText());
+                        } else {
+                            skipElement(r);
+                        }
+                        if (id != null && active != null) {
+                            break;
+                        }
+                    }
+                    return pattern == ReadPattern.ONE_FIELD ? id : ReadPattern.idActive(id, Boolean.TRUE.equals(active));
+                } finally {
+                    r.close();
+                }
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        }
+        return pattern.read(decode(data));
+    }
+
+    // Разбор прямо из буфера записи потока, без копии в новый массив
+    @Override
+    public User roundtrip(User message) throws IOException {
+        Buffer out = write(message);
+        return decode(out.array(), 0, out.size());
+    }
+
+    private Buffer write(User message) throws IOException {
+        Buffer out = buffers.get();
+        out.reset();
+        write(message, out);
+        return out;
+    }
+
+    private void write(User u, OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter w = outputFactory.createXMLStreamWriter(out, "UTF-8");
+            w.writeStartElement("User");
+            element(w, "id", u.id);
+            element(w, "name", u.name);
+            element(w, "email", u.email);
+            element(w, "age", Integer.toString(u.age));
+            element(w, "active", Boolean.toString(u.active));
+            if (u.roles != null) {
+                w.writeStartElement("roles");
+                for (String role : u.roles) {
+                    element(w, "roles", role);
+                }
+                w.writeEndElement();
+            }
+            element(w, "balance", Double.toString(u.balance));
+            w.writeEndElement();
+            w.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static void element(XMLStreamWriter w, String name, String value) throws XMLStreamException {
+        if (value != null) {
+            w.writeStartElement(name);
+            w.writeCharacters(value);
+            w.writeEndElement();
+        }
+    }
+
+    private User decode(byte[] data, int offset, int length) throws IOException {
+        try {
+            return read(inputFactory.createXMLStreamReader(new Stax2ByteArraySource(data, offset, length)));
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static User read(XMLStreamReader r) throws XMLStreamException {
+        try {
+            r.nextTag();
+            User u = new User();
+            while (r.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (r.getLocalName()) {
+                    case "id" -> u.id = r.getElementText();
+                    case "name" -> u.name = r.getElementText();
+                    case "email" -> u.email = r.getElementText();
+                    case "age" -> u.age = Integer.parseInt(r.getElementText());
+                    case "active" -> u.active = Boolean.parseBoolean(r.getElementText());
+                    case "roles" -> u.roles = readRoles(r);
+                    case "balance" -> u.balance = Double.parseDouble(r.getElementText());
+                    default -> skipElement(r);
+                }
+            }
+            return u;
+        } finally {
+            r.close();
+        }
+    }
+
+    private static String[] readRoles(XMLStreamReader r) throws XMLStreamException {
+        List<String> roles = new ArrayList<>();
+        while (r.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            roles.add(r.getElementText());
+        }
+        return roles.toArray(new String[0]);
+    }
+
+    // Курсор стоит на START_ELEMENT, после вызова - на его END_ELEMENT
+    private static void skipElement(XMLStreamReader r) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = r.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    // ByteArrayOutputStream с доступом к внутреннему массиву
+    static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(INITIAL_BUFFER);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
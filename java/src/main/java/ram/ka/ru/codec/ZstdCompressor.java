@@ -0,0 +1,24 @@
+package ram.ka.ru.codec;
+
+import com.github.luben.zstd.Zstd;
+
+// Zstandard (zstd-jni) с уровнем по умолчанию; размер оригинала хранится в заголовке кадра
+public class ZstdCompressor implements Compressor {
+
+    static final int LEVEL = Zstd.defaultCompressionLevel();
+
+    @Override
+    public String name() {
+        return "zstd";
+    }
+
+    @Override
+    public byte[] compress(byte[] data) {
+        return Zstd.compress(data, LEVEL);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) {
+        return Zstd.decompress(data, (int) Zstd.getFrameContentSize(data));
+    }
+}
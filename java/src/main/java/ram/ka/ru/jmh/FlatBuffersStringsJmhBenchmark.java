@@ -0,0 +1,79 @@
+package ram.ka.ru.jmh;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import org.openjdk.jmh.annotations.*;
+import ram.ka.ru.codec.SharedStringCache;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.util.concurrent.TimeUnit;
+
+// Пачка пользователей с повторяющимися ролями/именами/доменами в одном FlatBufferBuilder:
+// plain - createString на каждое значение, shared - createSharedString + кэш UTF-8 ролей.
+// Размер пачки в байтах - вторичный результат flatbuffersEncode:encodedBytes, JmhRunner пишет его
+// в encoded_size_bytes; в основном харнессе тот же размер дает --batch (flatbuffers и flatbuffers-shared).
+//   java -cp java/target/benchmarks-1.0.jar ram.ka.ru.jmh.JmhRunner FlatBuffersStrings
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlatBuffersStringsJmhBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int batchSize;
+
+    @Param({"plain", "shared"})
+    String encoder;
+
+    User[] batch;
+    FlatBufferBuilder builder;
+    SharedStringCache strings;
+    int[] roleOffsets;
+    int[] tables;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        batch = new User[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batch[i] = Users.sample(i);
+        }
+        builder = new FlatBufferBuilder(1024);
+        strings = new SharedStringCache();
+        roleOffsets = new int[3];
+        tables = new int[batchSize];
+    }
+
+    // Счетчик EVENTS обнуляется перед итерацией, поэтому присваивание дает размер пачки в итерации;
+    // в консоли JMH значение просуммировано по итерациям, JmhReportConverter берет среднее
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class EncodedSize {
+        public long encodedBytes;
+    }
+
+    @Benchmark
+    public int flatbuffersEncode(EncodedSize size) {
+        size.encodedBytes = encode();
+        return (int) size.encodedBytes;
+    }
+
+    // Возвращает число байт, занятых пачкой в builder
+    int encode() {
+        builder.clear();
+        strings.reset();
+        boolean shared = encoder.equals("shared");
+        for (int i = 0; i < batch.length; i++) {
+            tables[i] = shared
+                    ? Users.writeFlatUser(builder, batch[i], roleOffsets, FlatBufferBuilder::createSharedString, strings)
+                    : Users.writeFlatUser(builder, batch[i], roleOffsets, FlatBufferBuilder::createString, FlatBufferBuilder::createString);
+        }
+        builder.startVector(4, tables.length, 4);
+        for (int i = tables.length - 1; i >= 0; i--) {
+            builder.addOffset(tables[i]);
+        }
+        builder.endVector();
+        return builder.offset();
+    }
+}
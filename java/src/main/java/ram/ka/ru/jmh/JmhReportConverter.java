@@ -0,0 +1,158 @@
+package ram.ka.ru.jmh;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.util.Statistics;
+import ram.ka.ru.report.BenchmarkReport;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Переводит результаты JMH в формат BenchmarkReport (тот же JSON, что пишет SerializationBenchmark)
+public final class JmhReportConverter {
+
+    private static final String[] OPERATIONS = {"Serialize", "Deserialize", "Roundtrip", "Encode"};
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    // @AuxCounters с размером сообщения в байтах (FlatBuffersStringsJmhBenchmark.EncodedSize)
+    static final String ENCODED_BYTES = "encodedBytes";
+
+    private JmhReportConverter() {
+    }
+
+    // iterations - на сколько операций пересчитывать байты/операцию в memory_allocated_bytes,
+    // чтобы значения были сопоставимы с ручным харнессом
+    public static BenchmarkReport toReport(Collection<RunResult> runs, int iterations) {
+        BenchmarkReport report = new BenchmarkReport();
+        report.benchmark_meta.total_iterations = iterations;
+
+        Map<String, ram.ka.ru.report.BenchmarkResult> byMethod = new LinkedHashMap<>();
+        for (RunResult run : runs) {
+            String label = run.getParams().getBenchmark();
+            String method = label.substring(label.lastIndexOf('.') + 1);
+            // Бенчмарки с @Param дают по результату на каждый набор параметров
+            String params = paramsSuffix(run);
+            ram.ka.ru.report.BenchmarkResult r = byMethod.computeIfAbsent(method + params, k -> newResult(method, params));
+            report.benchmark_meta.threads = run.getParams().getThreads();
+            r.threads = run.getParams().getThreads();
+            r.thread_type = "platform";
+
+            Result<?> primary = run.getPrimaryResult();
+            if (run.getParams().getMode() == Mode.Throughput) {
+                r.performance.rps = toOpsPerSecond(primary.getScore(), primary.getScoreUnit());
+            } else if (run.getParams().getMode() == Mode.AverageTime) {
+                // Среднее время на операцию в одном потоке; пропускная способность - на все потоки
+                double meanNs = primary.getScore() * toNanos(primary.getScoreUnit());
+                r.performance.latency_ns.mean = Math.round(meanNs);
+                r.performance.rps = run.getParams().getThreads() * 1e9 / meanNs;
+            } else if (run.getParams().getMode() == Mode.SampleTime) {
+                Statistics stats = primary.getStatistics();
+                double scale = toNanos(primary.getScoreUnit());
+                r.performance.latency_ns.mean = Math.round(stats.getMean() * scale);
+                r.performance.latency_ns.p50 = Math.round(stats.getPercentile(50) * scale);
+                r.performance.latency_ns.p90 = Math.round(stats.getPercentile(90) * scale);
+                r.performance.latency_ns.p99 = Math.round(stats.getPercentile(99) * scale);
+                r.performance.latency_ns.p999 = Math.round(stats.getPercentile(99.9) * scale);
+                r.performance.latency_ns.max = Math.round(stats.getMax() * scale);
+                r.performance.latency_ns.stddev = stats.getStandardDeviation() * scale;
+            }
+
+            double bytesPerOp = allocatedBytesPerOp(run);
+            if (bytesPerOp >= 0) {
+                r.resources.memory_allocated_bytes = Math.round(bytesPerOp * iterations);
+                r.resources.memory_allocated_bytes_per_op = Math.round(bytesPerOp);
+            }
+            double encodedBytes = iterationMean(run, ENCODED_BYTES);
+            if (encodedBytes >= 0) {
+                r.encoded_size_bytes = (int) Math.round(encodedBytes);
+            }
+        }
+        report.results.addAll(byMethod.values());
+        return report;
+    }
+
+    static ram.ka.ru.report.BenchmarkResult newResult(String method, String params) {
+        ram.ka.ru.report.BenchmarkResult r = new ram.ka.ru.report.BenchmarkResult();
+        r.format = method + params;
+        for (String op : OPERATIONS) {
+            if (method.endsWith(op)) {
+                r.format = method.substring(0, method.length() - op.length()) + params;
+                r.operation = op.toLowerCase();
+                break;
+            }
+        }
+        return r;
+    }
+
+    // "{batchSize=10,encoder=shared}" или пустая строка
+    static String paramsSuffix(RunResult run) {
+        if (run.getParams().getParamsKeys().isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        for (String key : run.getParams().getParamsKeys()) {
+            joiner.add(key + "=" + run.getParams().getParam(key));
+        }
+        return joiner.toString();
+    }
+
+    // Берем из GC-профайлера (-prof gc); -1, если профайлер не подключен
+    static double allocatedBytesPerOp(RunResult run) {
+        return secondaryScore(run, ALLOC_NORM);
+    }
+
+    // Счетчик EVENTS JMH суммирует по итерациям, поэтому размер берется как среднее по итерациям; -1, если его нет
+    static double iterationMean(RunResult run, String suffix) {
+        double sum = 0;
+        int count = 0;
+        for (BenchmarkResult br : run.getBenchmarkResults()) {
+            for (IterationResult ir : br.getIterationResults()) {
+                for (Map.Entry<String, ?> e : ir.getSecondaryResults().entrySet()) {
+                    if (e.getKey().endsWith(suffix)) {
+                        sum += ((Result<?>) e.getValue()).getScore();
+                        count++;
+                    }
+                }
+            }
+        }
+        return count == 0 ? -1 : sum / count;
+    }
+
+    // Вторичный результат, имя которого оканчивается на suffix; -1, если его нет
+    static double secondaryScore(RunResult run, String suffix) {
+        for (BenchmarkResult br : run.getBenchmarkResults()) {
+            // getSecondaryResults() в JMH объявлен с raw-типом Result
+            for (Map.Entry<String, ?> e : br.getSecondaryResults().entrySet()) {
+                if (e.getKey().endsWith(suffix)) {
+                    return ((Result<?>) e.getValue()).getScore();
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Единицы JMH выглядят как "ops/s", "ops/ms", "ns/op", "us/op" ...
+    static double toOpsPerSecond(double score, String unit) {
+        String per = unit.substring(unit.indexOf('/') + 1);
+        return score * 1e9 / unitNanos(per);
+    }
+
+    static double toNanos(String unit) {
+        return unitNanos(unit.substring(0, unit.indexOf('/')));
+    }
+
+    static double unitNanos(String unit) {
+        return switch (unit) {
+            case "ns" -> 1;
+            case "us" -> 1e3;
+            case "ms" -> 1e6;
+            case "s" -> 1e9;
+            case "min" -> 60e9;
+            default -> throw new IllegalArgumentException("unknown JMH time unit: " + unit);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package ram.ka.ru.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+// Запуск JMH-бенчмарков с выводом в формате java_results.json:
+//   java -cp java/target/benchmarks-1.0.jar ram.ka.ru.jmh.JmhRunner [опции JMH] > java_results.json
+// Лог самого JMH пишется в jmh.log (или в файл из -o).
+public class JmhRunner {
+
+    static final int REPORT_ITERATIONS = 10000;
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cmd)
+                .addProfiler(GCProfiler.class);
+        if (cmd.getIncludes().isEmpty()) {
+            options.include(SerializationJmhBenchmark.class.getSimpleName());
+        }
+        if (!cmd.getOutput().hasValue()) {
+            options.output("jmh.log");
+        }
+
+        Collection<RunResult> runs = new Runner(options.build()).run();
+
+        ObjectMapper mapper = new ObjectMapper();
+        System.out.println(mapper.writerWithDefaultPrettyPrinter()
+                .writeValueAsString(JmhReportConverter.toReport(runs, REPORT_ITERATIONS)));
+    }
+}
@@ -0,0 +1,125 @@
+package ram.ka.ru.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import org.openjdk.jmh.annotations.*;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserProtos;
+import ram.ka.ru.models.Users;
+
+import java.nio.ByteBuffer;
+
+// JMH-вариант SerializationBenchmark: прогрев, форки и возврат результата (blackhole),
+// чтобы JIT не выбросил работу кодеков.
+// Имена методов: <формат><Операция>, JmhReportConverter разбирает их обратно в format/operation.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class SerializationJmhBenchmark {
+
+    static final ObjectMapper jsonMapper = new ObjectMapper();
+    static final XmlMapper xmlMapper = new XmlMapper();
+
+    // Исходные объекты и заранее закодированные сообщения для deserialize-бенчмарков
+    @State(Scope.Benchmark)
+    public static class Fixtures {
+        User user;
+        UserProtos.UserProto protoUser;
+        ram.ka.ru.models.flatbuffers.User flatUser;
+
+        byte[] jsonBytes;
+        byte[] xmlBytes;
+        byte[] protoBytes;
+        byte[] flatBytes;
+
+        @Setup
+        public void setup() throws Exception {
+            user = new User();
+            protoUser = Users.toProto(user);
+
+            ByteBuffer flat = Users.toFlatBuffer(user);
+            flatBytes = new byte[flat.remaining()];
+            flat.get(flatBytes);
+            flatUser = ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(flatBytes));
+
+            jsonBytes = jsonMapper.writeValueAsBytes(user);
+            xmlBytes = xmlMapper.writeValueAsBytes(user);
+            protoBytes = protoUser.toByteArray();
+
+            if (!user.name.equals(flatUser.name()) || !user.name.equals(protoUser.getName())) {
+                throw new IllegalStateException("fixtures do not match source user");
+            }
+        }
+    }
+
+    // === JSON ===
+
+    @Benchmark
+    public byte[] jsonSerialize(Fixtures f) throws Exception {
+        return jsonMapper.writeValueAsBytes(f.user);
+    }
+
+    @Benchmark
+    public User jsonDeserialize(Fixtures f) throws Exception {
+        return jsonMapper.readValue(f.jsonBytes, User.class);
+    }
+
+    @Benchmark
+    public User jsonRoundtrip(Fixtures f) throws Exception {
+        return jsonMapper.readValue(jsonMapper.writeValueAsBytes(f.user), User.class);
+    }
+
+    // === XML ===
+
+    @Benchmark
+    public byte[] xmlSerialize(Fixtures f) throws Exception {
+        return xmlMapper.writeValueAsBytes(f.user);
+    }
+
+    @Benchmark
+    public User xmlDeserialize(Fixtures f) throws Exception {
+        return xmlMapper.readValue(f.xmlBytes, User.class);
+    }
+
+    @Benchmark
+    public User xmlRoundtrip(Fixtures f) throws Exception {
+        return xmlMapper.readValue(xmlMapper.writeValueAsBytes(f.user), User.class);
+    }
+
+    // === Protobuf ===
+
+    @Benchmark
+    public byte[] protobufSerialize(Fixtures f) {
+        return f.protoUser.toByteArray();
+    }
+
+    @Benchmark
+    public UserProtos.UserProto protobufDeserialize(Fixtures f) throws Exception {
+        return UserProtos.UserProto.parseFrom(f.protoBytes);
+    }
+
+    @Benchmark
+    public UserProtos.UserProto protobufRoundtrip(Fixtures f) throws Exception {
+        return UserProtos.UserProto.parseFrom(f.protoUser.toByteArray());
+    }
+
+    // === FlatBuffers ===
+
+    @Benchmark
+    public ByteBuffer flatbuffersSerialize(Fixtures f) {
+        return Users.toFlatBuffer(f.user);
+    }
+
+    // Доступ без парсинга: читаем то же поле, что и основной бенчмарк
+    @Benchmark
+    public String flatbuffersDeserialize(Fixtures f) {
+        return ram.ka.ru.models.flatbuffers.User.getRootAsUser(ByteBuffer.wrap(f.flatBytes)).name();
+    }
+
+    @Benchmark
+    public String flatbuffersRoundtrip(Fixtures f) {
+        return ram.ka.ru.models.flatbuffers.User.getRootAsUser(Users.toFlatBuffer(f.user)).name();
+    }
+}
@@ -0,0 +1,27 @@
+package ram.ka.ru.models;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+// Доменная модель, общая для JSON/XML и источник данных для Protobuf/FlatBuffers.
+// equals/toString нужны проверке корректности перед замером, Serializable - кодеку jdk
+@Setter
+@Getter
+@EqualsAndHashCode
+@ToString
+public class User implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public String id = "123e4567-e89b-12d3-a456-426614174000";
+    public String name = "John Doe";
+    public String email = "john.doe@example.com";
+    public int age = 30;
+    public boolean active = true;
+    public String[] roles = new String[]{"admin", "user", "editor"};
+    public double balance = 1024.50;
+}
@@ -0,0 +1,159 @@
+package ram.ka.ru.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// Детерминированный генератор пользователей для корпуса (--corpus): при одном seed и mix
+// последовательность одинакова от запуска к запуску. Строки разной длины и алфавитов
+// (латиница, кириллица, греческий, арабский, CJK, эмодзи), 0-50 ролей, баланс с тяжелым хвостом.
+// mix - веса трех форм сообщения: small / medium / large (см. Shape).
+public final class UserGenerator {
+
+    // Форма сообщения: число слогов в имени, длина local-part email, среднее и максимум числа ролей
+    enum Shape {
+        SMALL(1, 2, 4, 10, 1, 3),
+        MEDIUM(2, 4, 8, 20, 4, 12),
+        LARGE(4, 10, 20, 60, 15, 50);
+
+        final int minSyllables, maxSyllables;
+        final int minLocal, maxLocal;
+        final int meanRoles, maxRoles;
+
+        Shape(int minSyllables, int maxSyllables, int minLocal, int maxLocal, int meanRoles, int maxRoles) {
+            this.minSyllables = minSyllables;
+            this.maxSyllables = maxSyllables;
+            this.minLocal = minLocal;
+            this.maxLocal = maxLocal;
+            this.meanRoles = meanRoles;
+            this.maxRoles = maxRoles;
+        }
+    }
+
+    // Веса по умолчанию для --size-mix (small, medium, large)
+    public static final int[] DEFAULT_MIX = {70, 25, 5};
+
+    // Слоги по алфавитам; в UTF-8 это 1, 2, 2, 2, 3 и 4 байта на символ
+    static final String[][] SYLLABLES = {
+            {"jo", "hn", "ma", "ri", "a", "li", "wei", "an", "na", "ke", "vin", "so", "phi", "e", "to", "m"},
+            {"Ив", "ан", "Пет", "ров", "Ма", "ри", "я", "Ол", "ег", "Сер", "гей", "Ек", "ате", "ри", "на"},
+            {"Αλ", "έξ", "αν", "δρ", "ος", "Νί", "κη", "Γι", "ώρ", "γος"},
+            {"مح", "مد", "أح", "مد", "فا", "طمة", "عل", "ي"},
+            {"王", "李", "张", "伟", "芳", "娜", "田中", "太郎", "さくら", "김", "민준"},
+            {"😀", "🚀", "🌟", "🔥"}
+    };
+    // Доля алфавитов в именах: в основном латиница, но заметная часть многобайтовых строк
+    static final int[] SCRIPT_WEIGHTS = {60, 15, 5, 5, 13, 2};
+
+    static final String[] DOMAINS = {"example.com", "corp.example.com", "mail.example.org", "example.co.uk",
+            "subsidiary.example.net", "partner-with-a-rather-long-domain-name.example.io"};
+    static final String LOCAL_CHARS = "abcdefghijklmnopqrstuvwxyz0123456789._-";
+
+    static final String[] ROLES = {"user", "admin", "editor", "viewer", "billing:read", "billing:write",
+            "support", "auditor", "developer", "ops", "security", "reports:export", "api", "owner"};
+
+    private final SplittableRandom random;
+    private final int[] mix;
+    private final int mixTotal;
+
+    public UserGenerator(long seed, int[] mix) {
+        if (mix.length != Shape.values().length) {
+            throw new IllegalArgumentException("size mix must have " + Shape.values().length + " weights (small,medium,large)");
+        }
+        this.random = new SplittableRandom(seed);
+        this.mix = mix.clone();
+        int total = 0;
+        for (int w : mix) {
+            if (w < 0) {
+                throw new IllegalArgumentException("size mix weights must not be negative");
+            }
+            total += w;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("size mix weights must add up to a positive number");
+        }
+        this.mixTotal = total;
+    }
+
+    public static List<User> corpus(long seed, int size, int[] mix) {
+        UserGenerator generator = new UserGenerator(seed, mix);
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(generator.next());
+        }
+        return users;
+    }
+
+    public User next() {
+        Shape shape = Shape.values()[pick(mix, mixTotal)];
+        User u = new User();
+        u.id = new UUID(random.nextLong(), random.nextLong()).toString();
+        u.name = name(shape) + " " + name(shape);
+        u.email = email(shape);
+        u.age = 18 + random.nextInt(73);
+        u.active = random.nextInt(10) < 8;
+        u.roles = roles(shape);
+        u.balance = balance();
+        return u;
+    }
+
+    private String name(Shape shape) {
+        String[] script = SYLLABLES[pick(SCRIPT_WEIGHTS, 100)];
+        int syllables = shape.minSyllables + random.nextInt(shape.maxSyllables - shape.minSyllables + 1);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            sb.append(script[random.nextInt(script.length)]);
+        }
+        if (Character.isLowerCase(sb.charAt(0))) {
+            sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        }
+        return sb.toString();
+    }
+
+    private String email(Shape shape) {
+        int length = shape.minLocal + random.nextInt(shape.maxLocal - shape.minLocal + 1);
+        StringBuilder sb = new StringBuilder(length + 32);
+        // Первый символ - буква, остальные из полного набора
+        sb.append(LOCAL_CHARS.charAt(random.nextInt(26)));
+        for (int i = 1; i < length; i++) {
+            sb.append(LOCAL_CHARS.charAt(random.nextInt(LOCAL_CHARS.length())));
+        }
+        return sb.append('@').append(DOMAINS[random.nextInt(DOMAINS.length)]).toString();
+    }
+
+    // Геометрическое распределение со средним meanRoles, обрезанное по maxRoles; 0 ролей допустимо
+    private String[] roles(Shape shape) {
+        double p = 1.0 / (shape.meanRoles + 1);
+        int count = (int) Math.min(shape.maxRoles, Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p)));
+        String[] roles = new String[count];
+        for (int i = 0; i < count; i++) {
+            // Частые роли берутся из общего набора, редкие - уникальные для команды
+            roles[i] = random.nextInt(4) == 0 ? "team-" + random.nextInt(10_000) : ROLES[random.nextInt(ROLES.length)];
+        }
+        return roles;
+    }
+
+    // Логнормальный баланс с медианой ~100: много мелких значений, редкие очень крупные,
+    // 10% нулевых и 5% отрицательных; округление до копеек
+    private double balance() {
+        int kind = random.nextInt(100);
+        if (kind < 10) {
+            return 0;
+        }
+        double amount = Math.exp(4.6 + 2.0 * random.nextGaussian());
+        double cents = Math.round(amount * 100) / 100.0;
+        return kind < 15 ? -cents : cents;
+    }
+
+    private int pick(int[] weights, int total) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+}
@@ -1264,11 +1264,764 @@ public final class UserProtos {
 
   }
 
+  public interface UserBatchOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:ram.ka.ru.models.UserBatch)
+      com.google.protobuf.MessageOrBuilder {
+
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    java.util.List<ram.ka.ru.models.UserProtos.UserProto> 
+        getUsersList();
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    ram.ka.ru.models.UserProtos.UserProto getUsers(int index);
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    int getUsersCount();
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    java.util.List<? extends ram.ka.ru.models.UserProtos.UserProtoOrBuilder> 
+        getUsersOrBuilderList();
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    ram.ka.ru.models.UserProtos.UserProtoOrBuilder getUsersOrBuilder(
+        int index);
+  }
+  /**
+   * <pre>
+   * Пачка пользователей для batch-замеров (--batch)
+   * </pre>
+   *
+   * Protobuf type {@code ram.ka.ru.models.UserBatch}
+   */
+  public static final class UserBatch extends
+      com.google.protobuf.GeneratedMessage implements
+      // @@protoc_insertion_point(message_implements:ram.ka.ru.models.UserBatch)
+      UserBatchOrBuilder {
+  private static final long serialVersionUID = 0L;
+    static {
+      com.google.protobuf.RuntimeVersion.validateProtobufGencodeVersion(
+        com.google.protobuf.RuntimeVersion.RuntimeDomain.PUBLIC,
+        /* major= */ 4,
+        /* minor= */ 29,
+        /* patch= */ 3,
+        /* suffix= */ "",
+        UserBatch.class.getName());
+    }
+    // Use UserBatch.newBuilder() to construct.
+    private UserBatch(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+    }
+    private UserBatch() {
+      users_ = java.util.Collections.emptyList();
+    }
+
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return ram.ka.ru.models.UserProtos.internal_static_ram_ka_ru_models_UserBatch_descriptor;
+    }
+
+    @java.lang.Override
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return ram.ka.ru.models.UserProtos.internal_static_ram_ka_ru_models_UserBatch_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              ram.ka.ru.models.UserProtos.UserBatch.class, ram.ka.ru.models.UserProtos.UserBatch.Builder.class);
+    }
+
+    public static final int USERS_FIELD_NUMBER = 1;
+    @SuppressWarnings("serial")
+    private java.util.List<ram.ka.ru.models.UserProtos.UserProto> users_;
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<ram.ka.ru.models.UserProtos.UserProto> getUsersList() {
+      return users_;
+    }
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends ram.ka.ru.models.UserProtos.UserProtoOrBuilder> 
+        getUsersOrBuilderList() {
+      return users_;
+    }
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    @java.lang.Override
+    public int getUsersCount() {
+      return users_.size();
+    }
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    @java.lang.Override
+    public ram.ka.ru.models.UserProtos.UserProto getUsers(int index) {
+      return users_.get(index);
+    }
+    /**
+     * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+     */
+    @java.lang.Override
+    public ram.ka.ru.models.UserProtos.UserProtoOrBuilder getUsersOrBuilder(
+        int index) {
+      return users_.get(index);
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      for (int i = 0; i < users_.size(); i++) {
+        output.writeMessage(1, users_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < users_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, users_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof ram.ka.ru.models.UserProtos.UserBatch)) {
+        return super.equals(obj);
+      }
+      ram.ka.ru.models.UserProtos.UserBatch other = (ram.ka.ru.models.UserProtos.UserBatch) obj;
+
+      if (!getUsersList()
+          .equals(other.getUsersList())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      if (getUsersCount() > 0) {
+        hash = (37 * hash) + USERS_FIELD_NUMBER;
+        hash = (53 * hash) + getUsersList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseWithIOException(PARSER, input);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    public static ram.ka.ru.models.UserProtos.UserBatch parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+
+    public static ram.ka.ru.models.UserProtos.UserBatch parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseWithIOException(PARSER, input);
+    }
+    public static ram.ka.ru.models.UserProtos.UserBatch parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessage
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(ram.ka.ru.models.UserProtos.UserBatch prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * <pre>
+     * Пачка пользователей для batch-замеров (--batch)
+     * </pre>
+     *
+     * Protobuf type {@code ram.ka.ru.models.UserBatch}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:ram.ka.ru.models.UserBatch)
+        ram.ka.ru.models.UserProtos.UserBatchOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return ram.ka.ru.models.UserProtos.internal_static_ram_ka_ru_models_UserBatch_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return ram.ka.ru.models.UserProtos.internal_static_ram_ka_ru_models_UserBatch_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                ram.ka.ru.models.UserProtos.UserBatch.class, ram.ka.ru.models.UserProtos.UserBatch.Builder.class);
+      }
+
+      // Construct using ram.ka.ru.models.UserProtos.UserBatch.newBuilder()
+      private Builder() {
+
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+
+      }
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        bitField0_ = 0;
+        if (usersBuilder_ == null) {
+          users_ = java.util.Collections.emptyList();
+        } else {
+          users_ = null;
+          usersBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return ram.ka.ru.models.UserProtos.internal_static_ram_ka_ru_models_UserBatch_descriptor;
+      }
+
+      @java.lang.Override
+      public ram.ka.ru.models.UserProtos.UserBatch getDefaultInstanceForType() {
+        return ram.ka.ru.models.UserProtos.UserBatch.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public ram.ka.ru.models.UserProtos.UserBatch build() {
+        ram.ka.ru.models.UserProtos.UserBatch result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public ram.ka.ru.models.UserProtos.UserBatch buildPartial() {
+        ram.ka.ru.models.UserProtos.UserBatch result = new ram.ka.ru.models.UserProtos.UserBatch(this);
+        buildPartialRepeatedFields(result);
+        if (bitField0_ != 0) { buildPartial0(result); }
+        onBuilt();
+        return result;
+      }
+
+      private void buildPartialRepeatedFields(ram.ka.ru.models.UserProtos.UserBatch result) {
+        if (usersBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) != 0)) {
+            users_ = java.util.Collections.unmodifiableList(users_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.users_ = users_;
+        } else {
+          result.users_ = usersBuilder_.build();
+        }
+      }
+
+      private void buildPartial0(ram.ka.ru.models.UserProtos.UserBatch result) {
+        int from_bitField0_ = bitField0_;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof ram.ka.ru.models.UserProtos.UserBatch) {
+          return mergeFrom((ram.ka.ru.models.UserProtos.UserBatch)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(ram.ka.ru.models.UserProtos.UserBatch other) {
+        if (other == ram.ka.ru.models.UserProtos.UserBatch.getDefaultInstance()) return this;
+        if (usersBuilder_ == null) {
+          if (!other.users_.isEmpty()) {
+            if (users_.isEmpty()) {
+              users_ = other.users_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureUsersIsMutable();
+              users_.addAll(other.users_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.users_.isEmpty()) {
+            if (usersBuilder_.isEmpty()) {
+              usersBuilder_.dispose();
+              usersBuilder_ = null;
+              users_ = other.users_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              usersBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getUsersFieldBuilder() : null;
+            } else {
+              usersBuilder_.addAllMessages(other.users_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 10: {
+                ram.ka.ru.models.UserProtos.UserProto m =
+                    input.readMessage(
+                        ram.ka.ru.models.UserProtos.UserProto.parser(),
+                        extensionRegistry);
+                if (usersBuilder_ == null) {
+                  ensureUsersIsMutable();
+                  users_.add(m);
+                } else {
+                  usersBuilder_.addMessage(m);
+                }
+                break;
+              } // case 10
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private java.util.List<ram.ka.ru.models.UserProtos.UserProto> users_ =
+        java.util.Collections.emptyList();
+      private void ensureUsersIsMutable() {
+        if (!((bitField0_ & 0x00000001) != 0)) {
+          users_ = new java.util.ArrayList<ram.ka.ru.models.UserProtos.UserProto>(users_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          ram.ka.ru.models.UserProtos.UserProto, ram.ka.ru.models.UserProtos.UserProto.Builder, ram.ka.ru.models.UserProtos.UserProtoOrBuilder> usersBuilder_;
+
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public java.util.List<ram.ka.ru.models.UserProtos.UserProto> getUsersList() {
+        if (usersBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(users_);
+        } else {
+          return usersBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public int getUsersCount() {
+        if (usersBuilder_ == null) {
+          return users_.size();
+        } else {
+          return usersBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public ram.ka.ru.models.UserProtos.UserProto getUsers(int index) {
+        if (usersBuilder_ == null) {
+          return users_.get(index);
+        } else {
+          return usersBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder setUsers(
+          int index, ram.ka.ru.models.UserProtos.UserProto value) {
+        if (usersBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureUsersIsMutable();
+          users_.set(index, value);
+          onChanged();
+        } else {
+          usersBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder setUsers(
+          int index, ram.ka.ru.models.UserProtos.UserProto.Builder builderForValue) {
+        if (usersBuilder_ == null) {
+          ensureUsersIsMutable();
+          users_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          usersBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder addUsers(ram.ka.ru.models.UserProtos.UserProto value) {
+        if (usersBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureUsersIsMutable();
+          users_.add(value);
+          onChanged();
+        } else {
+          usersBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder addUsers(
+          int index, ram.ka.ru.models.UserProtos.UserProto value) {
+        if (usersBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureUsersIsMutable();
+          users_.add(index, value);
+          onChanged();
+        } else {
+          usersBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder addUsers(
+          ram.ka.ru.models.UserProtos.UserProto.Builder builderForValue) {
+        if (usersBuilder_ == null) {
+          ensureUsersIsMutable();
+          users_.add(builderForValue.build());
+          onChanged();
+        } else {
+          usersBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder addUsers(
+          int index, ram.ka.ru.models.UserProtos.UserProto.Builder builderForValue) {
+        if (usersBuilder_ == null) {
+          ensureUsersIsMutable();
+          users_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          usersBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder addAllUsers(
+          java.lang.Iterable<? extends ram.ka.ru.models.UserProtos.UserProto> values) {
+        if (usersBuilder_ == null) {
+          ensureUsersIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, users_);
+          onChanged();
+        } else {
+          usersBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder clearUsers() {
+        if (usersBuilder_ == null) {
+          users_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          usersBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public Builder removeUsers(int index) {
+        if (usersBuilder_ == null) {
+          ensureUsersIsMutable();
+          users_.remove(index);
+          onChanged();
+        } else {
+          usersBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public ram.ka.ru.models.UserProtos.UserProto.Builder getUsersBuilder(
+          int index) {
+        return getUsersFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public ram.ka.ru.models.UserProtos.UserProtoOrBuilder getUsersOrBuilder(
+          int index) {
+        if (usersBuilder_ == null) {
+          return users_.get(index);  } else {
+          return usersBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public java.util.List<? extends ram.ka.ru.models.UserProtos.UserProtoOrBuilder> 
+           getUsersOrBuilderList() {
+        if (usersBuilder_ != null) {
+          return usersBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(users_);
+        }
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public ram.ka.ru.models.UserProtos.UserProto.Builder addUsersBuilder() {
+        return getUsersFieldBuilder().addBuilder(
+            ram.ka.ru.models.UserProtos.UserProto.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public ram.ka.ru.models.UserProtos.UserProto.Builder addUsersBuilder(
+          int index) {
+        return getUsersFieldBuilder().addBuilder(
+            index, ram.ka.ru.models.UserProtos.UserProto.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .ram.ka.ru.models.UserProto users = 1;</code>
+       */
+      public java.util.List<ram.ka.ru.models.UserProtos.UserProto.Builder> 
+           getUsersBuilderList() {
+        return getUsersFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          ram.ka.ru.models.UserProtos.UserProto, ram.ka.ru.models.UserProtos.UserProto.Builder, ram.ka.ru.models.UserProtos.UserProtoOrBuilder> 
+          getUsersFieldBuilder() {
+        if (usersBuilder_ == null) {
+          usersBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              ram.ka.ru.models.UserProtos.UserProto, ram.ka.ru.models.UserProtos.UserProto.Builder, ram.ka.ru.models.UserProtos.UserProtoOrBuilder>(
+                  users_,
+                  ((bitField0_ & 0x00000001) != 0),
+                  getParentForChildren(),
+                  isClean());
+          users_ = null;
+        }
+        return usersBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ram.ka.ru.models.UserBatch)
+    }
+
+    // @@protoc_insertion_point(class_scope:ram.ka.ru.models.UserBatch)
+    private static final ram.ka.ru.models.UserProtos.UserBatch DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new ram.ka.ru.models.UserProtos.UserBatch();
+    }
+
+    public static ram.ka.ru.models.UserProtos.UserBatch getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<UserBatch>
+        PARSER = new com.google.protobuf.AbstractParser<UserBatch>() {
+      @java.lang.Override
+      public UserBatch parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
+      }
+    };
+
+    public static com.google.protobuf.Parser<UserBatch> parser() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<UserBatch> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public ram.ka.ru.models.UserProtos.UserBatch getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
   private static final com.google.protobuf.Descriptors.Descriptor
     internal_static_ram_ka_ru_models_UserProto_descriptor;
   private static final 
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_ram_ka_ru_models_UserProto_fieldAccessorTable;
+  private static final com.google.protobuf.Descriptors.Descriptor
+    internal_static_ram_ka_ru_models_UserBatch_descriptor;
+  private static final 
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ram_ka_ru_models_UserBatch_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -1282,8 +2035,9 @@ public final class UserProtos {
       "o\022\020ram.ka.ru.models\"q\n\tUserProto\022\n\n\002id\030\001" +
       " \001(\t\022\014\n\004name\030\002 \001(\t\022\r\n\005email\030\003 \001(\t\022\013\n\003age" +
       "\030\004 \001(\005\022\016\n\006active\030\005 \001(\010\022\r\n\005roles\030\006 \003(\t\022\017\n" +
-      "\007balance\030\007 \001(\001B\036\n\020ram.ka.ru.modelsB\nUser" +
-      "Protosb\006proto3"
+      "\007balance\030\007 \001(\001\"7\n\tUserBatch\022*\n\005users\030\001 \003" +
+      "(\0132\033.ram.ka.ru.models.UserProtoB\036\n\020ram.k" +
+      "a.ru.modelsB\nUserProtosb\006proto3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -1295,6 +2049,12 @@ public final class UserProtos {
       com.google.protobuf.GeneratedMessage.FieldAccessorTable(
         internal_static_ram_ka_ru_models_UserProto_descriptor,
         new java.lang.String[] { "Id", "Name", "Email", "Age", "Active", "Roles", "Balance", });
+    internal_static_ram_ka_ru_models_UserBatch_descriptor =
+      getDescriptor().getMessageTypes().get(1);
+    internal_static_ram_ka_ru_models_UserBatch_fieldAccessorTable = new
+      com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+        internal_static_ram_ka_ru_models_UserBatch_descriptor,
+        new java.lang.String[] { "Users", });
     descriptor.resolveAllFeaturesImmutable();
   }
 
@@ -0,0 +1,168 @@
+package ram.ka.ru.models;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.StringVector;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Преобразования доменной модели в Protobuf/FlatBuffers
+public final class Users {
+
+    static final String[] NAMES = {"John Doe", "Jane Roe", "Иван Петров", "Maria Garcia", "Li Wei", "Ahmed Khan"};
+    static final String[] DOMAINS = {"example.com", "corp.example.com", "mail.example.org"};
+    static final String[][] ROLES = {{"admin", "user", "editor"}, {"user"}, {"user", "editor"}, {"viewer"}};
+
+    private Users() {
+    }
+
+    // i-й пользователь пачки: уникальный id, повторяющиеся имена/домены/роли
+    public static User sample(int i) {
+        User u = new User();
+        u.id = String.format("123e4567-e89b-12d3-a456-%012d", i);
+        u.name = NAMES[i % NAMES.length];
+        u.email = "user" + (i % 50) + "@" + DOMAINS[i % DOMAINS.length];
+        u.age = 20 + i % 50;
+        u.roles = ROLES[i % ROLES.length];
+        u.balance = i * 10.5;
+        return u;
+    }
+
+    public static List<User> batch(int size) {
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(sample(i));
+        }
+        return users;
+    }
+
+    public static UserProtos.UserProto toProto(User user) {
+        return UserProtos.UserProto.newBuilder()
+                .setId(user.id).setName(user.name).setEmail(user.email)
+                .setAge(user.age).setActive(user.active).setBalance(user.balance)
+                .addAllRoles(List.of(user.roles)).build();
+    }
+
+    public static User fromProto(UserProtos.UserProto proto) {
+        User u = new User();
+        u.id = proto.getId();
+        u.name = proto.getName();
+        u.email = proto.getEmail();
+        u.age = proto.getAge();
+        u.active = proto.getActive();
+        u.roles = proto.getRolesList().toArray(new String[0]);
+        u.balance = proto.getBalance();
+        return u;
+    }
+
+    // Строит FlatBuffers-сообщение с нуля (как в Go-версии: builder начинается с 0 байт)
+    public static ByteBuffer toFlatBuffer(User user) {
+        FlatBufferBuilder b = new FlatBufferBuilder(0);
+        writeFlatBuffer(b, user, new int[user.roles.length]);
+        return b.dataBuffer();
+    }
+
+    // Способ записи строки в builder: createString, createSharedString или кэш готовых UTF-8 байт
+    public interface FlatStrings {
+        int create(FlatBufferBuilder b, String s);
+    }
+
+    static final FlatStrings PLAIN_STRINGS = FlatBufferBuilder::createString;
+
+    // Пишет и финиширует сообщение в переданный builder; roleOffsets - рабочий массив не короче roles
+    public static void writeFlatBuffer(FlatBufferBuilder b, User user, int[] roleOffsets) {
+        b.finish(writeFlatUser(b, user, roleOffsets, PLAIN_STRINGS, PLAIN_STRINGS));
+    }
+
+    // Пишет таблицу User без finish (для нескольких таблиц в одном builder) и возвращает ее offset.
+    // text - для name/email, roles - для ролей; id всегда уникален и пишется обычным createString
+    public static int writeFlatUser(FlatBufferBuilder b, User user, int[] roleOffsets, FlatStrings text, FlatStrings roles) {
+        int name = text.create(b, user.name);
+        int email = text.create(b, user.email);
+        int id = b.createString(user.id);
+        for (int i = 0; i < user.roles.length; i++) {
+            roleOffsets[i] = roles.create(b, user.roles[i]);
+        }
+        ram.ka.ru.models.flatbuffers.User.startRolesVector(b, user.roles.length);
+        for (int i = user.roles.length - 1; i >= 0; i--) {
+            b.addOffset(roleOffsets[i]);
+        }
+        int rolesVec = b.endVector();
+        ram.ka.ru.models.flatbuffers.User.startUser(b);
+        ram.ka.ru.models.flatbuffers.User.addId(b, id);
+        ram.ka.ru.models.flatbuffers.User.addName(b, name);
+        ram.ka.ru.models.flatbuffers.User.addEmail(b, email);
+        ram.ka.ru.models.flatbuffers.User.addAge(b, user.age);
+        ram.ka.ru.models.flatbuffers.User.addActive(b, user.active);
+        ram.ka.ru.models.flatbuffers.User.addBalance(b, user.balance);
+        ram.ka.ru.models.flatbuffers.User.addRoles(b, rolesVec);
+        return ram.ka.ru.models.flatbuffers.User.endUser(b);
+    }
+
+    public static UserProtos.UserBatch toProto(List<User> users) {
+        UserProtos.UserBatch.Builder batch = UserProtos.UserBatch.newBuilder();
+        for (User user : users) {
+            batch.addUsers(toProto(user));
+        }
+        return batch.build();
+    }
+
+    // Пачка как вектор таблиц User внутри UserBatch; строки каждого User пишутся заново
+    public static ByteBuffer toFlatBuffer(List<User> users) {
+        return toFlatBuffer(users, PLAIN_STRINGS, PLAIN_STRINGS);
+    }
+
+    // То же со своим способом записи строк (см. writeFlatUser): общие строки хранятся в пачке один раз
+    public static ByteBuffer toFlatBuffer(List<User> users, FlatStrings text, FlatStrings roles) {
+        FlatBufferBuilder b = new FlatBufferBuilder(0);
+        int[] tables = new int[users.size()];
+        int[] roleOffsets = new int[8];
+        for (int i = 0; i < tables.length; i++) {
+            User user = users.get(i);
+            if (roleOffsets.length < user.roles.length) {
+                roleOffsets = new int[user.roles.length];
+            }
+            tables[i] = writeFlatUser(b, user, roleOffsets, text, roles);
+        }
+        int vector = ram.ka.ru.models.flatbuffers.UserBatch.createUsersVector(b, tables);
+        b.finish(ram.ka.ru.models.flatbuffers.UserBatch.createUserBatch(b, vector));
+        return b.dataBuffer();
+    }
+
+    public static List<User> fromFlatBuffer(ram.ka.ru.models.flatbuffers.UserBatch batch) {
+        ram.ka.ru.models.flatbuffers.User table = new ram.ka.ru.models.flatbuffers.User();
+        StringVector roles = new StringVector();
+        int length = batch.usersLength();
+        List<User> users = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            users.add(fromFlatBuffer(batch.users(table, i), roles, new User()));
+        }
+        return users;
+    }
+
+    // Полное чтение FlatBuffers-таблицы в доменную модель
+    public static User fromFlatBuffer(ram.ka.ru.models.flatbuffers.User table) {
+        return fromFlatBuffer(table, new StringVector(), new User());
+    }
+
+    // Вариант без служебных аллокаций: вектор ролей и целевой объект переиспользуются
+    // (массив ролей пересоздается только при смене длины)
+    public static User fromFlatBuffer(ram.ka.ru.models.flatbuffers.User table, StringVector roles, User target) {
+        target.id = table.id();
+        target.name = table.name();
+        target.email = table.email();
+        target.age = table.age();
+        target.active = table.active();
+        StringVector vector = table.rolesVector(roles);
+        int length = vector == null ? 0 : vector.length();
+        if (target.roles == null || target.roles.length != length) {
+            target.roles = new String[length];
+        }
+        for (int i = 0; i < length; i++) {
+            target.roles[i] = vector.get(i);
+        }
+        target.balance = table.balance();
+        return target;
+    }
+}
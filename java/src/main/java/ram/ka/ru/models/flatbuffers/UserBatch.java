@@ -0,0 +1,61 @@
+// Написан вручную в том виде, в каком его генерирует flatc 25.2.10 (flatc --java), по таблице
+// UserBatch из ram/ka/ru/user.fbs. При изменении схемы файл перегенерируется generate_flatbuffers.sh
+// и этот комментарий заменяется стандартным заголовком flatc.
+
+package ram.ka.ru.models.flatbuffers;
+
+import com.google.flatbuffers.BaseVector;
+import com.google.flatbuffers.BooleanVector;
+import com.google.flatbuffers.ByteVector;
+import com.google.flatbuffers.Constants;
+import com.google.flatbuffers.DoubleVector;
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.FloatVector;
+import com.google.flatbuffers.IntVector;
+import com.google.flatbuffers.LongVector;
+import com.google.flatbuffers.ShortVector;
+import com.google.flatbuffers.StringVector;
+import com.google.flatbuffers.Struct;
+import com.google.flatbuffers.Table;
+import com.google.flatbuffers.UnionVector;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+@SuppressWarnings("unused")
+public final class UserBatch extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_25_2_10(); }
+  public static UserBatch getRootAsUserBatch(ByteBuffer _bb) { return getRootAsUserBatch(_bb, new UserBatch()); }
+  public static UserBatch getRootAsUserBatch(ByteBuffer _bb, UserBatch obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public UserBatch __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public ram.ka.ru.models.flatbuffers.User users(int j) { return users(new ram.ka.ru.models.flatbuffers.User(), j); }
+  public ram.ka.ru.models.flatbuffers.User users(ram.ka.ru.models.flatbuffers.User obj, int j) { int o = __offset(4); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int usersLength() { int o = __offset(4); return o != 0 ? __vector_len(o) : 0; }
+  public ram.ka.ru.models.flatbuffers.User.Vector usersVector() { return usersVector(new ram.ka.ru.models.flatbuffers.User.Vector()); }
+  public ram.ka.ru.models.flatbuffers.User.Vector usersVector(ram.ka.ru.models.flatbuffers.User.Vector obj) { int o = __offset(4); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+
+  public static int createUserBatch(FlatBufferBuilder builder,
+      int usersOffset) {
+    builder.startTable(1);
+    UserBatch.addUsers(builder, usersOffset);
+    return UserBatch.endUserBatch(builder);
+  }
+
+  public static void startUserBatch(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addUsers(FlatBufferBuilder builder, int usersOffset) { builder.addOffset(0, usersOffset, 0); }
+  public static int createUsersVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startUsersVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static int endUserBatch(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public UserBatch get(int j) { return get(new UserBatch(), j); }
+    public UserBatch get(UserBatch obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
@@ -0,0 +1,27 @@
+package ram.ka.ru.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+public class BenchmarkMeta {
+    public String language = "java";
+    public String version = "21";
+    public String timestamp = Instant.now().toString();
+    public int threads = 1;
+    public int total_iterations = 10000;
+    public int warmup_ms;
+    // 0 - замер по числу итераций, иначе замер ограничен временем
+    public int duration_ms;
+    // Только с --corpus: число сгенерированных пользователей, seed и веса small/medium/large
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int corpus_size;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public long corpus_seed;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String corpus_size_mix;
+}
@@ -0,0 +1,15 @@
+package ram.ka.ru.report;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Структуры отчета (точно как в Go)
+@Setter
+@Getter
+public class BenchmarkReport {
+    public BenchmarkMeta benchmark_meta = new BenchmarkMeta();
+    public List<BenchmarkResult> results = new ArrayList<>();
+}
@@ -0,0 +1,38 @@
+package ram.ka.ru.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class BenchmarkResult {
+    public String format;
+    public String operation = "roundtrip";
+    public int threads;
+    public String thread_type;
+    // Пользователей в одной операции (только --batch); rps и encoded_size_bytes - на пачку
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int batch_size;
+    // Размер одного закодированного сообщения (encode), в JMH-отчете не заполняется
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int encoded_size_bytes;
+    // Только для операций со сжатием (--compress): компрессор, размер после сжатия, encoded / compressed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String compression;
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public int compressed_size_bytes;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Double compression_ratio;
+    // Только в режиме --sweep: rps(n) / (n * rps(1))
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Double scaling_efficiency;
+    // Только в режимах --protobuf-file и --flatbuffers-mmap
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public FileStreamStats file_stream;
+    // Только в режиме --loopback
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public TransportStats transport;
+    public PerformanceStats performance = new PerformanceStats();
+    public ResourceStats resources = new ResourceStats();
+}
@@ -0,0 +1,22 @@
+package ram.ka.ru.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+// Файловые режимы (--protobuf-file, --flatbuffers-mmap): способ ввода-вывода, буфер и объем данных прогона
+@Setter
+@Getter
+public class FileStreamStats {
+    // stream - writeDelimitedTo/parseDelimitedFrom через Buffered*Stream на FileChannel,
+    // coded - CodedOutputStream/CodedInputStream прямо поверх ByteBuffer, который пишется в FileChannel,
+    // mmap - чтение записей из MappedByteBuffer (buffer_bytes не заполняется)
+    public String io;
+    public String buffer_type;
+    public int buffer_bytes;
+    public long records;
+    public long file_bytes;
+    // 10^6 байт в секунду; в --flatbuffers-mmap только для шаблонов, читающих запись целиком
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Double mb_per_second;
+}
@@ -0,0 +1,20 @@
+package ram.ka.ru.report;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Кадр стека из JFR: weight - байты для аллокаций, число сэмплов для CPU
+@Setter
+@Getter
+public class FrameStats {
+    public String frame;
+    public long weight;
+
+    public FrameStats() {
+    }
+
+    public FrameStats(String frame, long weight) {
+        this.frame = frame;
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,11 @@
+package ram.ka.ru.report;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class LatencyStats {
+    public long mean, p50, p90, p99, p999, max;
+    public double stddev;
+}
@@ -0,0 +1,26 @@
+package ram.ka.ru.report;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class PerformanceStats {
+    @JsonProperty
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    public double rps;
+    public long operations;
+    // closed - операции подряд, open - постоянная интенсивность target_rps (задержка от запланированного старта)
+    public String load_mode = "closed";
+    public double target_rps;
+    public long missed_operations;
+    // Только для пачек: rps * batch_size
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public double records_per_second;
+    // null, если задержка отдельных операций не измерялась (--protobuf-file: одно время на весь файл)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public LatencyStats latency_ns = new LatencyStats();
+}
@@ -0,0 +1,41 @@
+package ram.ka.ru.report;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class ResourceStats {
+    // Счетчики рабочих потоков; null - недоступны (ThreadMXBean не поддерживает виртуальные потоки)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long memory_allocated_bytes;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long memory_allocated_bytes_per_op;
+    // Только для пачек
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long memory_allocated_bytes_per_record;
+    // Только в режиме --jfr и только при известном memory_allocated_bytes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long memory_allocations_count;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long cpu_user_time_ms;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long cpu_system_time_ms;
+    // CPU рабочих потоков на операцию и CPU всего процесса (включая GC и JIT) за прогон
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Long cpu_ns_per_op;
+    public long process_cpu_time_ms;
+
+    // Заполняются только в режиме --jfr
+    public long gc_count;
+    public long gc_pause_total_ns;
+    public long gc_pause_max_ns;
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<FrameStats> top_allocation_frames = new ArrayList<>();
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public List<FrameStats> top_cpu_frames = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package ram.ka.ru.report;
+
+import lombok.Getter;
+import lombok.Setter;
+
+// Режим --loopback: сервер, число соединений и объем трафика через localhost
+@Setter
+@Getter
+public class TransportStats {
+    // selector - один поток с Selector, blocking - виртуальный поток на соединение
+    public String server;
+    public int connections;
+    // Кадр запроса: 4 байта длины + сообщение; ответ того же размера
+    public int frame_bytes;
+    // Запросы и ответы вместе, 10^6 байт в секунду
+    public double mb_per_second;
+}
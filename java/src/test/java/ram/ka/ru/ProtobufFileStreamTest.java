@@ -0,0 +1,95 @@
+package ram.ka.ru;
+
+import com.google.protobuf.CodedOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserGenerator;
+import ram.ka.ru.models.Users;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtobufFileStreamTest {
+
+    @TempDir
+    Path dir;
+
+    private List<User> users;
+    // Самая длинная запись вместе с varint длины
+    private int maxRecord;
+
+    @BeforeEach
+    void setUp() {
+        users = UserGenerator.corpus(42, 300, UserGenerator.DEFAULT_MIX);
+        for (User user : users) {
+            int size = Users.toProto(user).getSerializedSize();
+            maxRecord = Math.max(maxRecord, CodedOutputStream.computeUInt32SizeNoTag(size) + size);
+        }
+    }
+
+    @Test
+    void corpusHasMultiByteLengthPrefixes() {
+        // Иначе граница буфера никогда не попадет внутрь varint длины
+        assertTrue(maxRecord > 128 + 2, "max record " + maxRecord);
+    }
+
+    @Test
+    void codedReadHandlesEveryBoundaryOffset() throws IOException {
+        ProtobufFileStream stream = new ProtobufFileStream(users, dir.resolve("users.pb"));
+        // Записи разной длины: при каждом размере буфера граница режет их (и varint длины) в новых местах
+        for (int bufferSize = maxRecord; bufferSize < maxRecord + 300; bufferSize++) {
+            for (ProtobufFileStream.Io io : List.of(ProtobufFileStream.Io.CODED_HEAP, ProtobufFileStream.Io.CODED_DIRECT)) {
+                stream.write(io, bufferSize);
+                stream.read(io, bufferSize, true);
+            }
+        }
+    }
+
+    @Test
+    void codedAndStreamFormatsAreInterchangeable() throws IOException {
+        ProtobufFileStream stream = new ProtobufFileStream(users, dir.resolve("users.pb"));
+        stream.write(ProtobufFileStream.Io.STREAM, 4096);
+        stream.read(ProtobufFileStream.Io.CODED_HEAP, maxRecord, true);
+
+        stream.write(ProtobufFileStream.Io.CODED_DIRECT, maxRecord);
+        stream.read(ProtobufFileStream.Io.STREAM, 4096, true);
+    }
+
+    @Test
+    void emptyFileHasNoRecords() throws IOException {
+        ProtobufFileStream stream = new ProtobufFileStream(List.of(), dir.resolve("empty.pb"));
+        stream.write(ProtobufFileStream.Io.CODED_HEAP, 64);
+        stream.read(ProtobufFileStream.Io.CODED_HEAP, 64, true);
+    }
+
+    @Test
+    void recordLargerThanBufferIsRejected() throws IOException {
+        ProtobufFileStream stream = new ProtobufFileStream(users, dir.resolve("users.pb"));
+        assertThrows(IOException.class, () -> stream.write(ProtobufFileStream.Io.CODED_HEAP, maxRecord - 1));
+
+        stream.write(ProtobufFileStream.Io.CODED_HEAP, 64 * 1024);
+        assertThrows(IOException.class, () -> stream.read(ProtobufFileStream.Io.CODED_HEAP, maxRecord - 1, true));
+    }
+
+    @Test
+    void truncatedFileIsReported() throws IOException {
+        Path file = dir.resolve("users.pb");
+        ProtobufFileStream stream = new ProtobufFileStream(users, file);
+        stream.write(ProtobufFileStream.Io.CODED_HEAP, 64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+
+        assertThrows(EOFException.class, () -> stream.read(ProtobufFileStream.Io.CODED_HEAP, maxRecord, true));
+    }
+}
@@ -0,0 +1,65 @@
+package ram.ka.ru;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerPoolTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void nothingMissedWhenScheduleReachedDeadline() {
+        assertEquals(0, WorkerPool.missedOps(100 * MS, 100 * MS, MS, 100, Long.MAX_VALUE));
+        assertEquals(0, WorkerPool.missedOps(105 * MS, 100 * MS, MS, 100, Long.MAX_VALUE));
+    }
+
+    @Test
+    void nothingMissedWhenLimitReached() {
+        assertEquals(0, WorkerPool.missedOps(10 * MS, 100 * MS, MS, 50, 50));
+    }
+
+    @Test
+    void countsRemainingStartsBeforeDeadline() {
+        // Старты в 40, 41, ..., 99 мс
+        assertEquals(60, WorkerPool.missedOps(40 * MS, 100 * MS, MS, 40, Long.MAX_VALUE));
+        // Неполный интервал перед дедлайном - тоже запланированный старт
+        assertEquals(1, WorkerPool.missedOps(100 * MS - 1, 100 * MS, MS, 0, Long.MAX_VALUE));
+        assertEquals(3, WorkerPool.missedOps(0, 25, 10, 0, Long.MAX_VALUE));
+    }
+
+    @Test
+    void missedNeverExceedsRemainingLimit() {
+        assertEquals(10, WorkerPool.missedOps(0, 100 * MS, MS, 90, 100));
+    }
+
+    @Test
+    void openLoopAccountsForEveryScheduledStart() throws Exception {
+        long intervalNs = MS;
+        long durationNs = 50 * MS;
+        WorkerStats[] stats = {new WorkerStats(SerializationBenchmark.HISTOGRAM_MAX_NS, SerializationBenchmark.HISTOGRAM_DIGITS)};
+        AtomicLong runs = new AtomicLong();
+        // Операция вдвое дольше интервала: поток не успевает за расписанием
+        Runnable slow = () -> {
+            runs.incrementAndGet();
+            long end = System.nanoTime() + 2 * intervalNs;
+            while (System.nanoTime() < end) {
+                LockSupport.parkNanos(end - System.nanoTime());
+            }
+        };
+
+        try (WorkerPool pool = new WorkerPool(1, SerializationBenchmark.threadFactory(SerializationBenchmark.PLATFORM))) {
+            pool.run(slow, Long.MAX_VALUE, durationNs, intervalNs, stats);
+        }
+
+        assertEquals(runs.get(), stats[0].ops);
+        assertTrue(stats[0].missed > 0, "missed=" + stats[0].missed);
+        // Каждый старт из [0, duration) либо выполнен, либо пропущен
+        assertEquals(durationNs / intervalNs, stats[0].ops + stats[0].missed);
+    }
+}
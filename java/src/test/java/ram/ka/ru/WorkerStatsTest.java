@@ -0,0 +1,50 @@
+package ram.ka.ru;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkerStatsTest {
+
+    @Test
+    void deltaOfUnsupportedCounterIsUnsupported() {
+        assertEquals(WorkerStats.UNSUPPORTED, WorkerStats.delta(-1, -1));
+        assertEquals(WorkerStats.UNSUPPORTED, WorkerStats.delta(-1, 100));
+        assertEquals(WorkerStats.UNSUPPORTED, WorkerStats.delta(100, -1));
+        assertEquals(0, WorkerStats.delta(100, 100));
+        assertEquals(50, WorkerStats.delta(100, 150));
+    }
+
+    @Test
+    void platformThreadCountersAreMeasured() throws InterruptedException {
+        WorkerStats stats = measure(Thread.ofPlatform());
+
+        assertTrue(stats.allocatedBytes > 0, "allocated " + stats.allocatedBytes);
+        assertTrue(stats.cpuTimeNs >= 0, "cpu " + stats.cpuTimeNs);
+        assertTrue(stats.userTimeNs >= 0, "user " + stats.userTimeNs);
+    }
+
+    @Test
+    void virtualThreadCountersAreUnsupported() throws InterruptedException {
+        WorkerStats stats = measure(Thread.ofVirtual());
+
+        assertEquals(WorkerStats.UNSUPPORTED, stats.allocatedBytes);
+        assertEquals(WorkerStats.UNSUPPORTED, stats.cpuTimeNs);
+        assertEquals(WorkerStats.UNSUPPORTED, stats.userTimeNs);
+    }
+
+    private static WorkerStats measure(Thread.Builder builder) throws InterruptedException {
+        WorkerStats stats = new WorkerStats(SerializationBenchmark.HISTOGRAM_MAX_NS, SerializationBenchmark.HISTOGRAM_DIGITS);
+        builder.start(() -> {
+            stats.begin();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 1_000; i++) {
+                sb.append(i);
+            }
+            stats.record(sb.length());
+            stats.end();
+        }).join();
+        return stats;
+    }
+}
@@ -0,0 +1,33 @@
+package ram.ka.ru.codec;
+
+import org.junit.jupiter.api.Test;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.UserGenerator;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class CodecTest {
+
+    private static final List<User> USERS = UserGenerator.corpus(7, 50, UserGenerator.DEFAULT_MIX);
+
+    // toModel - основа Codec.read по умолчанию, поэтому должен быть у каждого формата, в том числе не-User сообщений
+    @Test
+    void everyCodecRestoresDomainModel() throws IOException {
+        List<Codec<?>> codecs = ServiceLoader.load(Codec.class).stream().<Codec<?>>map(ServiceLoader.Provider::get).toList();
+        assertFalse(codecs.isEmpty());
+        for (Codec<?> codec : codecs) {
+            for (User user : USERS) {
+                assertEquals(user, roundtrip(codec, user), codec.name());
+            }
+        }
+    }
+
+    private static <T> User roundtrip(Codec<T> codec, User user) throws IOException {
+        return codec.toModel(codec.decode(codec.encode(codec.fromModel(user))));
+    }
+}
@@ -0,0 +1,68 @@
+package ram.ka.ru.codec;
+
+import com.google.flatbuffers.FlatBufferBuilder;
+import org.junit.jupiter.api.Test;
+import ram.ka.ru.models.User;
+import ram.ka.ru.models.Users;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlatBuffersSharedBatchCodecTest {
+
+    @Test
+    void cacheWritesStringOncePerBuilder() {
+        SharedStringCache cache = new SharedStringCache();
+        FlatBufferBuilder b = new FlatBufferBuilder(256);
+
+        int first = cache.create(b, "editor");
+        int size = b.offset();
+        assertEquals(first, cache.create(b, "editor"));
+        assertEquals(size, b.offset());
+        assertNotEquals(first, cache.create(b, "viewer"));
+    }
+
+    @Test
+    void resetForgetsOffsetsOfClearedBuilder() {
+        SharedStringCache cache = new SharedStringCache();
+        FlatBufferBuilder b = new FlatBufferBuilder(256);
+        cache.create(b, "admin");
+        cache.create(b, "user");
+
+        b.clear();
+        cache.reset();
+        int size = b.offset();
+        int offset = cache.create(b, "user");
+
+        // Строка пишется заново в очищенный builder, а не ссылается на старый offset
+        assertTrue(b.offset() > size);
+        assertEquals(b.offset(), offset);
+    }
+
+    @Test
+    void evictedStringIsEncodedAgain() {
+        SharedStringCache cache = new SharedStringCache(1);
+        FlatBufferBuilder b = new FlatBufferBuilder(256);
+        int admin = cache.create(b, "admin");
+        cache.create(b, "user");
+
+        assertNotEquals(admin, cache.create(b, "admin"));
+    }
+
+    @Test
+    void sharedBatchRoundtripsAndIsSmaller() {
+        List<User> users = Users.batch(1000);
+        FlatBuffersBatchCodec plain = new FlatBuffersBatchCodec();
+        FlatBuffersSharedBatchCodec shared = new FlatBuffersSharedBatchCodec();
+
+        byte[] sharedBytes = shared.encode(shared.fromModel(users));
+        // Второй вызов в том же потоке проверяет, что reset() не оставляет offset'ы прошлой пачки
+        sharedBytes = shared.encode(shared.fromModel(users));
+
+        assertEquals(users, shared.decode(sharedBytes));
+        assertTrue(sharedBytes.length < plain.encode(plain.fromModel(users)).length);
+    }
+}
@@ -0,0 +1,191 @@
+package ram.ka.ru.jmh;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.AverageTimeResult;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.IterationResultMetaData;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+import ram.ka.ru.report.BenchmarkReport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JmhReportConverterTest {
+
+    private static final String BENCHMARK = "ram.ka.ru.jmh.SerializationJmhBenchmark.";
+    private static final String ALLOC_NORM = "·gc.alloc.rate.norm";
+
+    @Test
+    void convertsThroughputUnitsToOpsPerSecond() {
+        assertEquals(2_000, JmhReportConverter.toOpsPerSecond(2, "ops/ms"), 1e-9);
+        assertEquals(2_000_000, JmhReportConverter.toOpsPerSecond(2, "ops/us"), 1e-6);
+        assertEquals(2, JmhReportConverter.toOpsPerSecond(2, "ops/s"), 1e-12);
+        assertEquals(2 / 60.0, JmhReportConverter.toOpsPerSecond(2, "ops/min"), 1e-12);
+    }
+
+    @Test
+    void convertsTimeUnitsToNanos() {
+        assertEquals(1, JmhReportConverter.toNanos("ns/op"));
+        assertEquals(1e3, JmhReportConverter.toNanos("us/op"));
+        assertEquals(1e6, JmhReportConverter.toNanos("ms/op"));
+        assertEquals(1e9, JmhReportConverter.toNanos("s/op"));
+    }
+
+    @Test
+    void rejectsUnknownUnit() {
+        assertThrows(IllegalArgumentException.class, () -> JmhReportConverter.unitNanos("h"));
+        assertThrows(IllegalArgumentException.class, () -> JmhReportConverter.toOpsPerSecond(1, "ops/h"));
+    }
+
+    @Test
+    void splitsMethodIntoFormatAndOperation() {
+        ram.ka.ru.report.BenchmarkResult r = JmhReportConverter.newResult("protobufSerialize", "");
+        assertEquals("protobuf", r.format);
+        assertEquals("serialize", r.operation);
+
+        r = JmhReportConverter.newResult("jsonRoundtrip", "");
+        assertEquals("json", r.format);
+        assertEquals("roundtrip", r.operation);
+
+        r = JmhReportConverter.newResult("flatbuffersEncode", "{batchSize=10,encoder=shared}");
+        assertEquals("flatbuffers{batchSize=10,encoder=shared}", r.format);
+        assertEquals("encode", r.operation);
+    }
+
+    @Test
+    void encodedBytesCounterBecomesEncodedSize() {
+        BenchmarkParams params = params("flatbuffersEncode", Mode.AverageTime, 1, workload("10", "shared"));
+        // JMH суммирует счетчик EVENTS по итерациям; в отчет идет размер одной пачки
+        RunResult run = run(params, 3,
+                new AverageTimeResult(ResultRole.PRIMARY, "flatbuffersEncode", 1_000, 2_000_000L, TimeUnit.MICROSECONDS),
+                new ScalarResult(JmhReportConverter.ENCODED_BYTES, 1_436, "#", AggregationPolicy.SUM));
+
+        ram.ka.ru.report.BenchmarkResult r = JmhReportConverter.toReport(List.of(run), 1_000).results.get(0);
+
+        assertEquals("flatbuffers{batchSize=10,encoder=shared}", r.format);
+        assertEquals("encode", r.operation);
+        assertEquals(1_436, r.encoded_size_bytes);
+    }
+
+    @Test
+    void throughputRunBecomesRpsAndAllocation() {
+        BenchmarkParams params = params("protobufSerialize", Mode.Throughput, 2, new WorkloadParams());
+        RunResult run = run(params,
+                new ThroughputResult(ResultRole.PRIMARY, "protobufSerialize", 5_000, 1_000_000_000L, TimeUnit.MILLISECONDS),
+                new ScalarResult(ALLOC_NORM, 120, "B/op", AggregationPolicy.AVG));
+
+        BenchmarkReport report = JmhReportConverter.toReport(List.of(run), 1_000);
+
+        assertEquals(1, report.results.size());
+        ram.ka.ru.report.BenchmarkResult r = report.results.get(0);
+        assertEquals("protobuf", r.format);
+        assertEquals("serialize", r.operation);
+        assertEquals(2, r.threads);
+        assertEquals(5_000, r.performance.rps, 1e-6);
+        assertEquals(120, r.resources.memory_allocated_bytes_per_op);
+        assertEquals(120_000, r.resources.memory_allocated_bytes);
+        assertEquals(1_000, report.benchmark_meta.total_iterations);
+    }
+
+    @Test
+    void averageTimeRunBecomesMeanLatencyAndRpsForAllThreads() {
+        BenchmarkParams params = params("jsonDeserialize", Mode.AverageTime, 4, new WorkloadParams());
+        // 2 мкс на операцию в потоке
+        RunResult run = run(params,
+                new AverageTimeResult(ResultRole.PRIMARY, "jsonDeserialize", 1_000, 2_000_000L, TimeUnit.MICROSECONDS));
+
+        ram.ka.ru.report.BenchmarkResult r = JmhReportConverter.toReport(List.of(run), 1_000).results.get(0);
+
+        assertEquals(2_000, r.performance.latency_ns.mean);
+        assertEquals(4 * 1e9 / 2_000, r.performance.rps, 1e-6);
+    }
+
+    @Test
+    void allocationIsUnknownWithoutGcProfiler() {
+        BenchmarkParams params = params("protobufSerialize", Mode.Throughput, 1, new WorkloadParams());
+        RunResult run = run(params,
+                new ThroughputResult(ResultRole.PRIMARY, "protobufSerialize", 5_000, 1_000_000_000L, TimeUnit.SECONDS));
+
+        assertEquals(-1, JmhReportConverter.allocatedBytesPerOp(run));
+    }
+
+    @Test
+    void paramsSuffixIsEmptyWithoutParams() {
+        RunResult run = run(params("protobufSerialize", Mode.Throughput, 1, new WorkloadParams()),
+                new ThroughputResult(ResultRole.PRIMARY, "protobufSerialize", 1, 1_000_000_000L, TimeUnit.SECONDS));
+
+        assertEquals("", JmhReportConverter.paramsSuffix(run));
+    }
+
+    @Test
+    void paramsSuffixListsParamsInDeclarationOrder() {
+        RunResult run = run(params("encodeRoundtrip", Mode.Throughput, 1, workload("100", "shared")),
+                new ThroughputResult(ResultRole.PRIMARY, "encodeRoundtrip", 1, 1_000_000_000L, TimeUnit.SECONDS));
+
+        assertEquals("{batchSize=100,encoder=shared}", JmhReportConverter.paramsSuffix(run));
+    }
+
+    @Test
+    void eachParamSetBecomesSeparateResult() {
+        List<RunResult> runs = new ArrayList<>();
+        for (String encoder : List.of("plain", "shared")) {
+            runs.add(run(params("encodeRoundtrip", Mode.Throughput, 1, workload("10", encoder)),
+                    new ThroughputResult(ResultRole.PRIMARY, "encodeRoundtrip", 1_000, 1_000_000_000L, TimeUnit.SECONDS)));
+        }
+
+        BenchmarkReport report = JmhReportConverter.toReport(runs, 1_000);
+
+        assertEquals(2, report.results.size());
+        assertEquals("encode{batchSize=10,encoder=plain}", report.results.get(0).format);
+        assertEquals("encode{batchSize=10,encoder=shared}", report.results.get(1).format);
+        assertEquals("roundtrip", report.results.get(0).operation);
+    }
+
+    static WorkloadParams workload(String batchSize, String encoder) {
+        WorkloadParams workload = new WorkloadParams();
+        workload.put("batchSize", batchSize, 0);
+        workload.put("encoder", encoder, 0);
+        return workload;
+    }
+
+    static BenchmarkParams params(String method, Mode mode, int threads, WorkloadParams workload) {
+        IterationParams warmup = new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1);
+        IterationParams measurement = new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1);
+        return new BenchmarkParams(BENCHMARK + method, BENCHMARK + method, false, threads, new int[]{threads}, List.of(),
+                1, 0, warmup, measurement, mode, workload, TimeUnit.SECONDS, 1,
+                "java", List.of(), "21", "vm", "21", "1.37", TimeValue.minutes(1));
+    }
+
+    static RunResult run(BenchmarkParams params, Result<?>... results) {
+        return run(params, 1, results);
+    }
+
+    // Каждая из iterationCount итераций получает одни и те же результаты
+    static RunResult run(BenchmarkParams params, int iterationCount, Result<?>... results) {
+        List<IterationResult> iterations = new ArrayList<>();
+        for (int i = 0; i < iterationCount; i++) {
+            IterationResult iteration = new IterationResult(params, params.getMeasurement(), new IterationResultMetaData(1, 1));
+            for (Result<?> result : results) {
+                iteration.addResult(result);
+            }
+            iterations.add(iteration);
+        }
+        return new RunResult(params, List.of(new BenchmarkResult(params, iterations)));
+    }
+}
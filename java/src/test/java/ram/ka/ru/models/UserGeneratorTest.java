@@ -0,0 +1,107 @@
+package ram.ka.ru.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserGeneratorTest {
+
+    private static final int SIZE = 20_000;
+
+    @Test
+    void sameSeedGivesSameCorpus() {
+        assertEquals(UserGenerator.corpus(42, 1_000, UserGenerator.DEFAULT_MIX),
+                UserGenerator.corpus(42, 1_000, UserGenerator.DEFAULT_MIX));
+    }
+
+    @Test
+    void differentSeedGivesDifferentCorpus() {
+        assertNotEquals(UserGenerator.corpus(42, 100, UserGenerator.DEFAULT_MIX),
+                UserGenerator.corpus(43, 100, UserGenerator.DEFAULT_MIX));
+    }
+
+    @Test
+    void mixIsCopied() {
+        int[] mix = UserGenerator.DEFAULT_MIX.clone();
+        UserGenerator generator = new UserGenerator(42, mix);
+        mix[0] = 0;
+        mix[2] = 1_000;
+
+        UserGenerator expected = new UserGenerator(42, UserGenerator.DEFAULT_MIX);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected.next(), generator.next());
+        }
+    }
+
+    @Test
+    void rejectsBadMix() {
+        assertThrows(IllegalArgumentException.class, () -> new UserGenerator(1, new int[]{70, 30}));
+        assertThrows(IllegalArgumentException.class, () -> new UserGenerator(1, new int[]{0, 0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new UserGenerator(1, new int[]{-10, 20, 0}));
+    }
+
+    @Test
+    void balanceHasZeroAndNegativeShares() {
+        int zero = 0;
+        int negative = 0;
+        for (User u : UserGenerator.corpus(42, SIZE, UserGenerator.DEFAULT_MIX)) {
+            if (u.balance == 0) {
+                zero++;
+            } else if (u.balance < 0) {
+                negative++;
+            }
+            // Округление до копеек
+            assertEquals(Math.round(u.balance * 100) / 100.0, u.balance);
+        }
+        assertShare(0.10, zero);
+        assertShare(0.05, negative);
+    }
+
+    @Test
+    void fieldsStayInRange() {
+        int active = 0;
+        int multibyte = 0;
+        int noRoles = 0;
+        for (User u : UserGenerator.corpus(42, SIZE, UserGenerator.DEFAULT_MIX)) {
+            assertTrue(u.age >= 18 && u.age <= 90, "age " + u.age);
+            assertTrue(u.roles.length <= 50, "roles " + u.roles.length);
+            assertTrue(u.email.matches("[a-z][a-z0-9._-]*@[a-z.-]+"), u.email);
+            active += u.active ? 1 : 0;
+            noRoles += u.roles.length == 0 ? 1 : 0;
+            if (u.name.getBytes(StandardCharsets.UTF_8).length > u.name.length()) {
+                multibyte++;
+            }
+        }
+        assertShare(0.80, active);
+        assertTrue(noRoles > 0, "no user without roles");
+        // Каждое слово имени латиницей с вероятностью 60%, целиком латинских имен около 36%
+        assertTrue(multibyte > SIZE / 2, "multibyte names: " + multibyte);
+    }
+
+    @Test
+    void shapeControlsRoleCount() {
+        List<User> small = UserGenerator.corpus(42, SIZE, new int[]{1, 0, 0});
+        List<User> large = UserGenerator.corpus(42, SIZE, new int[]{0, 0, 1});
+
+        assertTrue(small.stream().allMatch(u -> u.roles.length <= 3));
+        assertTrue(large.stream().anyMatch(u -> u.roles.length > 12));
+        assertTrue(meanRoles(large) > 5 * meanRoles(small),
+                "small " + meanRoles(small) + ", large " + meanRoles(large));
+    }
+
+    private static double meanRoles(List<User> users) {
+        return users.stream().mapToInt(u -> u.roles.length).average().orElse(0);
+    }
+
+    // Доля в пределах +-2 процентных пунктов от ожидаемой
+    private static void assertShare(double expected, int count) {
+        double share = (double) count / SIZE;
+        assertTrue(Math.abs(share - expected) < 0.02, "share " + share + ", expected " + expected);
+    }
+}